@@ -0,0 +1,91 @@
+package com.tetris;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({ "grid", "journal", "bit" })
+    public String impl;
+
+    @Param({ "10x20", "20x40", "64x400" })
+    public String size;
+
+    private Board placementBoard;
+    private Board clearBoard;
+    private Piece t;
+    private Piece i;
+    private int x;
+
+    @Setup
+    public void setup() {
+        Piece.generatePieces();
+        t = Piece.get("T");
+        i = Piece.get("I");
+
+        placementBoard = Boards.create(impl, size);
+        Boards.fillColumns(placementBoard, 0, placementBoard.getWidth() / 2);
+
+        clearBoard = Boards.create(impl, size);
+        Boards.fillColumns(clearBoard, 1, clearBoard.getWidth());
+    }
+
+    @Benchmark
+    public Message placement() {
+        Board board = placementBoard;
+        x = (x + 1) % (board.getWidth() - t.getWidth() + 1);
+        board.commit();
+        Message message = board.insert(t, x, board.dropHeight(t, x));
+        board.undo();
+
+        return message;
+    }
+
+    @Benchmark
+    public int clearFourRows() {
+        Board board = clearBoard;
+        board.commit();
+        board.insert(i, 0, 0);
+        int lines = board.clearRows();
+        board.undo();
+
+        return lines;
+    }
+
+    @Benchmark
+    public int dropHeight() {
+        Board board = placementBoard;
+        int sum = 0;
+
+        for (Piece piece : Piece.pieces) {
+            Piece rotated = piece;
+
+            do {
+                for (int x = 0; x + rotated.getWidth() <= board.getWidth(); x++) {
+                    sum += board.dropHeight(rotated, x);
+                }
+
+                rotated = rotated.getRotated(1);
+            } while (rotated != piece);
+        }
+
+        return sum;
+    }
+}
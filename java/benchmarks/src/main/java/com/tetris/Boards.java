@@ -0,0 +1,34 @@
+package com.tetris;
+
+
+class Boards {
+    private Boards() {}
+
+    static Board create(String impl, String size) {
+        String[] dimensions = size.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+
+        switch (impl) {
+            case "grid":
+                return new GridBoard(width, height);
+            case "journal":
+                return new GridBoard(width, height, true);
+            case "bit":
+                return new BitBoard(width, height);
+            default:
+                throw new RuntimeException("Unknown board implementation " + impl);
+        }
+    }
+
+    static void fillColumns(Board board, int from, int to) {
+        Piece vertical = Piece.get("I");
+
+        for (int x = from; x < to; x++) {
+            board.commit();
+            board.insert(vertical, x, board.getHeights()[x]);
+        }
+
+        board.commit();
+    }
+}
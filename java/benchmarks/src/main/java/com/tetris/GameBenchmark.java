@@ -0,0 +1,62 @@
+package com.tetris;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    @Param({ "grid", "journal", "bit" })
+    public String impl;
+
+    @Param({ "10x20", "20x40", "64x400" })
+    public String size;
+
+    private Simulator simulator;
+    private long seed;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long pieces;
+        public long lines;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pieces = 0;
+            lines = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        simulator = new Simulator(() -> Boards.create(impl, size), s -> new RandomPolicy(s), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public SimulationResult randomGame(Counters counters) {
+        SimulationResult result = simulator.play(seed++);
+        counters.pieces += result.getPieces();
+        counters.lines += result.getLines();
+
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tetris;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceBenchmark {
+    @Param({ "10x20", "20x40", "64x400" })
+    public String size;
+
+    private Grid grid;
+
+    @Setup
+    public void setup() {
+        Piece.generatePieces();
+        String[] dimensions = size.split("x");
+        grid = new Grid(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]));
+    }
+
+    @Benchmark
+    public int rotateAll() {
+        int sum = 0;
+
+        for (Piece piece : Piece.pieces) {
+            Piece rotated = piece;
+
+            do {
+                sum += rotated.getIndex() + rotated.getSkirt()[0];
+                rotated = rotated.getRotated(1);
+            } while (rotated != piece);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public Grid gridClone() {
+        return grid.clone();
+    }
+
+    @Benchmark
+    public String gridToString() {
+        return grid.toString();
+    }
+}
@@ -0,0 +1,11 @@
+package com.tetris;
+
+enum Action {
+    MOVE_LEFT,
+    MOVE_RIGHT,
+    MOVE_DOWN,
+    ROTATE_CW,
+    ROTATE_CCW,
+    HARD_DROP,
+    TICK
+}
@@ -0,0 +1,33 @@
+package com.tetris;
+
+
+public class BagRandomizer implements Randomizer {
+    private SplitMix64 random;
+    private int[] bag = new int[PieceTable.SHAPES];
+    private int position;
+
+    public BagRandomizer(SplitMix64 random) {
+        this.random = random;
+
+        for (int i = 0; i < bag.length; i++) {
+            bag[i] = i;
+        }
+
+        position = bag.length;
+    }
+
+    public int next() {
+        if (position == bag.length) {
+            for (int i = bag.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int shape = bag[i];
+                bag[i] = bag[j];
+                bag[j] = shape;
+            }
+
+            position = 0;
+        }
+
+        return bag[position++];
+    }
+}
@@ -0,0 +1,310 @@
+package com.tetris;
+
+
+public class BatchEvaluator {
+    private int width;
+    private int capacity;
+    private int count;
+    private int top;
+    private long surface;
+
+    private int[] placements;
+    private int[] ys;
+    private int[] lines;
+    private int[] aggregateHeights;
+    private int[] maxHeights;
+    private int[] holes;
+    private int[] bumpiness;
+    private int[] heights;
+    private int[] rowWidths;
+    private long[] hashes;
+
+    public BatchEvaluator(int width, int capacity) {
+        this.width = width;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        placements = new int[capacity];
+        ys = new int[capacity];
+        lines = new int[capacity];
+        aggregateHeights = new int[capacity];
+        maxHeights = new int[capacity];
+        holes = new int[capacity];
+        bumpiness = new int[capacity];
+        heights = new int[capacity * width];
+        rowWidths = new int[capacity * PieceTable.MAX_SIZE];
+        hashes = new long[capacity];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int[] getPlacements() {
+        return placements;
+    }
+
+    public int[] getYs() {
+        return ys;
+    }
+
+    public int[] getLines() {
+        return lines;
+    }
+
+    public int[] getAggregateHeights() {
+        return aggregateHeights;
+    }
+
+    public int[] getMaxHeights() {
+        return maxHeights;
+    }
+
+    public int[] getHoles() {
+        return holes;
+    }
+
+    public int[] getBumpiness() {
+        return bumpiness;
+    }
+
+    public int[] getHeights() {
+        return heights;
+    }
+
+    public int[] getRowWidths() {
+        return rowWidths;
+    }
+
+    public long[] getHashes() {
+        return hashes;
+    }
+
+    public int evaluateDrops(Board board, int[] indices, int[] xs, int count) {
+        int filled = begin(board, count);
+        int[] baseHeights = board.getHeights();
+        int height = board.getHeight();
+        int n = 0;
+
+        for (int i = 0; i < count; i++) {
+            int y = DropTable.dropHeight(indices[i], baseHeights, surface, xs[i]);
+
+            if (y + PieceTable.height(indices[i]) <= height) {
+                placements[n] = Placement.encode(PieceTable.rotation(indices[i]), xs[i], y);
+                compute(board, filled, n, indices[i], xs[i], y);
+                n += 1;
+            }
+        }
+
+        this.count = n;
+        return n;
+    }
+
+    public int evaluateDrops(Board board, int shape) {
+        int count = 0;
+
+        for (int rotation = 0; rotation < PieceTable.rotations(shape); rotation++) {
+            count += width - PieceTable.width(PieceTable.index(shape, rotation)) + 1;
+        }
+
+        int filled = begin(board, count);
+        int[] baseHeights = board.getHeights();
+        int height = board.getHeight();
+        int i = 0;
+
+        for (int rotation = 0; rotation < PieceTable.rotations(shape); rotation++) {
+            int index = PieceTable.index(shape, rotation);
+
+            for (int x = 0; x + PieceTable.width(index) <= width; x++) {
+                int y = DropTable.dropHeight(index, baseHeights, surface, x);
+
+                if (y + PieceTable.height(index) <= height) {
+                    placements[i] = Placement.encode(rotation, x, y);
+                    compute(board, filled, i, index, x, y);
+                    i += 1;
+                }
+            }
+        }
+
+        this.count = i;
+        return i;
+    }
+
+    public int evaluatePlacements(Board board, int shape, int[] placements, int count) {
+        int filled = begin(board, count);
+
+        for (int i = 0; i < count; i++) {
+            int placement = placements[i];
+            int index = PieceTable.index(shape, Placement.rotation(placement));
+            this.placements[i] = placement;
+            compute(board, filled, i, index, Placement.x(placement), Placement.y(placement));
+        }
+
+        return count;
+    }
+
+    private int begin(Board board, int count) {
+        if (board.getWidth() != width) {
+            throw new RuntimeException("Board width does not match evaluator");
+        }
+
+        if (count > capacity) {
+            allocate(Math.max(count, 2 * capacity));
+        }
+
+        int[] baseHeights = board.getHeights();
+        int[] widths = board.getWidths();
+        int filled = 0;
+
+        top = 0;
+
+        for (int x = 0; x < width; x++) {
+            top = Math.max(top, baseHeights[x]);
+        }
+
+        for (int y = 0; y < top; y++) {
+            filled += widths[y];
+        }
+
+        this.count = count;
+        surface = DropTable.surface(baseHeights, width);
+        return filled;
+    }
+
+    private void compute(Board board, int filled, int i, int index, int x, int y) {
+        int[] widths = board.getWidths();
+        int offset = i * width;
+        int pieceWidth = PieceTable.width(index);
+        int pieceHeight = PieceTable.height(index);
+
+        System.arraycopy(board.getHeights(), 0, heights, offset, width);
+
+        for (int c = 0; c < pieceWidth; c++) {
+            heights[offset + x + c] = Math.max(heights[offset + x + c], y + PieceTable.top(index, c));
+        }
+
+        int cleared = 0;
+        int clearedRows = 0;
+
+        for (int r = 0; r < PieceTable.MAX_SIZE; r++) {
+            int rowWidth = r < pieceHeight ? widths[y + r] + Long.bitCount(PieceTable.mask(index, r)) : 0;
+            rowWidths[i * PieceTable.MAX_SIZE + r] = rowWidth;
+
+            if (rowWidth == width) {
+                cleared += 1;
+                clearedRows |= 1 << r;
+            }
+        }
+
+        if (cleared > 0) {
+            for (int c = 0; c < width; c++) {
+                heights[offset + c] = settle(board, index, x, y, clearedRows, c, heights[offset + c]);
+            }
+        }
+
+        int aggregate = 0;
+        int max = 0;
+        int bumps = 0;
+
+        for (int c = 0; c < width; c++) {
+            aggregate += heights[offset + c];
+            max = Math.max(max, heights[offset + c]);
+        }
+
+        for (int c = 1; c < width; c++) {
+            bumps += Math.abs(heights[offset + c] - heights[offset + c - 1]);
+        }
+
+        ys[i] = y;
+        lines[i] = cleared;
+        aggregateHeights[i] = aggregate;
+        maxHeights[i] = max;
+        bumpiness[i] = bumps;
+        holes[i] = aggregate - (filled + PieceTable.CELLS - cleared * width);
+        hashes[i] = hash(board, index, x, y, clearedRows);
+    }
+
+    private long hash(Board board, int index, int x, int y, int clearedRows) {
+        long hash = board.getHash();
+        int pieceHeight = PieceTable.height(index);
+
+        if (clearedRows == 0) {
+            for (int r = 0; r < pieceHeight; r++) {
+                hash ^= Zobrist.row(PieceTable.mask(index, r) << x, y + r);
+            }
+
+            return hash;
+        }
+
+        int end = Math.max(top, y + pieceHeight);
+        int write = y;
+
+        for (int row = y; row < end; row++) {
+            int r = row - y;
+            long mask = row(board, row);
+            hash ^= Zobrist.row(mask, row);
+
+            if (r < pieceHeight && (clearedRows >>> r & 1) != 0) {
+                continue;
+            }
+
+            if (r < pieceHeight) {
+                mask |= PieceTable.mask(index, r) << x;
+            }
+
+            hash ^= Zobrist.row(mask, write);
+            write += 1;
+        }
+
+        return hash;
+    }
+
+    private long row(Board board, int y) {
+        long mask = 0;
+
+        if (board.getWidths()[y] == 0) {
+            return mask;
+        }
+
+        for (int x = 0; x < width; x++) {
+            if (board.isFilled(x, y)) {
+                mask |= 1L << x;
+            }
+        }
+
+        return mask;
+    }
+
+    private int settle(Board board, int index, int x, int y, int clearedRows, int column, int top) {
+        int row = top - 1;
+
+        while (row >= 0) {
+            int r = row - y;
+            boolean inPiece = r >= 0 && r < PieceTable.height(index);
+
+            if (inPiece && (clearedRows >>> r & 1) != 0) {
+                row -= 1;
+                continue;
+            }
+
+            if (board.isFilled(column, row)) {
+                break;
+            }
+
+            if (inPiece && column >= x && (PieceTable.mask(index, r) >>> (column - x) & 1L) != 0) {
+                break;
+            }
+
+            row -= 1;
+        }
+
+        if (row < 0) {
+            return 0;
+        }
+
+        int below = Math.max(0, Math.min(row + 1 - y, PieceTable.MAX_SIZE));
+        return row + 1 - Integer.bitCount(clearedRows & ((1 << below) - 1));
+    }
+}
@@ -0,0 +1,403 @@
+package com.tetris;
+
+import java.util.Arrays;
+
+
+public class BitBoard implements Board {
+    public static final int MAX_WIDTH = 64;
+    private static final byte EMPTY = 0;
+    private static final byte GARBAGE = '#';
+
+    private int width;
+    private int height;
+    private long fullRow;
+    private long[] rows;
+    private byte[] colors;
+    private int[] widths;
+    private int[] heights;
+    private long[] xRows;
+    private byte[] xColors;
+    private int[] xWidths;
+    private int[] xHeights;
+    private Features features;
+    private boolean isCommitted = true;
+    private int largestRow = 0;
+    private int xLargestRow = 0;
+    private int xFrom = 0;
+    private int xTo = 0;
+    private long hash = 0;
+    private long xHash = 0;
+
+    public BitBoard(int width, int height) {
+        if (width <= 0 || width > MAX_WIDTH || height <= 0) {
+            throw new RuntimeException("Unsupported board size " + width + "x" + height);
+        }
+
+        this.width = width;
+        this.height = height;
+        fullRow = width == MAX_WIDTH ? -1L : (1L << width) - 1;
+        rows = new long[height];
+        colors = new byte[width * height];
+        widths = new int[height];
+        heights = new int[width];
+        xRows = new long[height];
+        xColors = new byte[width * height];
+        xWidths = new int[height];
+        xHeights = new int[width];
+        features = new Features(this);
+    }
+
+    private void begin() {
+        System.arraycopy(heights, 0, xHeights, 0, width);
+        xLargestRow = largestRow;
+        xHash = hash;
+        xFrom = 0;
+        xTo = 0;
+    }
+
+    private void backup(int from, int to) {
+        if (xFrom == xTo) {
+            copyRows(from, to);
+            xFrom = from;
+            xTo = to;
+            return;
+        }
+
+        if (from < xFrom) {
+            copyRows(from, xFrom);
+            xFrom = from;
+        }
+
+        if (to > xTo) {
+            copyRows(xTo, to);
+            xTo = to;
+        }
+    }
+
+    private void copyRows(int from, int to) {
+        if (Metrics.ENABLED) {
+            Metrics.backup();
+        }
+
+        System.arraycopy(rows, from, xRows, from, to - from);
+        System.arraycopy(colors, from * width, xColors, from * width, (to - from) * width);
+        System.arraycopy(widths, from, xWidths, from, to - from);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder(width * height * 2);
+
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = 0; x < width; x++) {
+                sb.append(getCell(x, y));
+
+                if (x < width - 1) {
+                    sb.append(' ');
+                }
+            }
+
+            if (y != 0) {
+                sb.append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int[] getHeights() {
+        return heights;
+    }
+
+    public int[] getWidths() {
+        return widths;
+    }
+
+    public long[] getRows() {
+        return rows;
+    }
+
+    public long getRow(int y) {
+        return rows[y];
+    }
+
+    public int getLargestRow() {
+        return largestRow;
+    }
+
+    public void copyFrom(BitBoard other) {
+        if (other.width != width || other.height != height) {
+            throw new RuntimeException("Cannot copy board of a different size");
+        }
+
+        int top = Math.max(largestRow, other.largestRow);
+
+        System.arraycopy(other.rows, 0, rows, 0, top);
+        System.arraycopy(other.colors, 0, colors, 0, top * width);
+        System.arraycopy(other.widths, 0, widths, 0, top);
+        System.arraycopy(other.heights, 0, heights, 0, width);
+        largestRow = other.largestRow;
+        hash = other.hash;
+        features.copyFrom(other.features);
+        begin();
+        isCommitted = true;
+    }
+
+    public void load(long[] source) {
+        largestRow = 0;
+
+        for (int y = 0; y < height; y++) {
+            long row = source[y] & fullRow;
+            rows[y] = row;
+            widths[y] = Long.bitCount(row);
+
+            for (int x = 0; x < width; x++) {
+                colors[y * width + x] = (row >>> x & 1L) != 0 ? (byte) '#' : EMPTY;
+            }
+
+            if (row != 0) {
+                largestRow = y + 1;
+            }
+        }
+
+        recomputeHeights();
+        features.recomputeAll();
+        hash = Zobrist.of(this);
+        begin();
+        isCommitted = true;
+    }
+
+    public boolean isFilled(int x, int y) {
+        return (rows[y] >>> x & 1L) != 0;
+    }
+
+    public char getCell(int x, int y) {
+        byte color = colors[y * width + x];
+        return color == EMPTY ? '.' : (char) color;
+    }
+
+    public Features getFeatures() {
+        return features;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public void commit() {
+        this.isCommitted = true;
+    }
+
+    public void commit(boolean isCommitted) {
+        this.isCommitted = isCommitted;
+    }
+
+    public void undo() {
+        if (Metrics.ENABLED) {
+            Metrics.undo();
+        }
+
+        System.arraycopy(xRows, xFrom, rows, xFrom, xTo - xFrom);
+        System.arraycopy(xColors, xFrom * width, colors, xFrom * width, (xTo - xFrom) * width);
+        System.arraycopy(xWidths, xFrom, widths, xFrom, xTo - xFrom);
+        System.arraycopy(xHeights, 0, heights, 0, width);
+        largestRow = xLargestRow;
+        hash = xHash;
+        xFrom = 0;
+        xTo = 0;
+        features.rollback();
+        commit();
+    }
+
+    public int dropHeight(Piece piece, int x) {
+        if (!Metrics.ENABLED) {
+            return landingHeight(piece, x);
+        }
+
+        long start = System.nanoTime();
+        int y = landingHeight(piece, x);
+        Metrics.DROP_HEIGHT.record(System.nanoTime() - start);
+        return y;
+    }
+
+    public Message insert(Piece piece, int x, int y) {
+        if (!Metrics.ENABLED) {
+            return place(piece, x, y);
+        }
+
+        long start = System.nanoTime();
+        Message message = place(piece, x, y);
+        Metrics.insert(message, System.nanoTime() - start);
+        return message;
+    }
+
+    public int clearRows() {
+        if (!Metrics.ENABLED) {
+            return compact();
+        }
+
+        long start = System.nanoTime();
+        int lines = compact();
+        Metrics.clearRows(lines, System.nanoTime() - start);
+        return lines;
+    }
+
+    private int landingHeight(Piece piece, int x) {
+        return DropTable.dropHeight(piece.getIndex(), heights, x);
+    }
+
+    private Message place(Piece piece, int x, int y) {
+        if (!isCommitted) {
+            throw new RuntimeException("Previous round has not been committed");
+        }
+
+        commit(false);
+        features.begin();
+        begin();
+        int index = piece.getIndex();
+        int pieceWidth = PieceTable.width(index);
+        int pieceHeight = PieceTable.height(index);
+
+        if (0 > x || x + pieceWidth > width || 0 > y || y + pieceHeight > height) {
+            return Message.PLACE_OUT_BOUNDS;
+        }
+
+        backup(y, y + pieceHeight);
+
+        for (int i = 0; i < pieceHeight; i++) {
+            if ((rows[y + i] & PieceTable.mask(index, i) << x) != 0) {
+                return Message.PLACE_BAD;
+            }
+        }
+
+        for (int i = 0; i < pieceHeight; i++) {
+            long mask = PieceTable.mask(index, i) << x;
+            rows[y + i] |= mask;
+            widths[y + i] += Long.bitCount(mask);
+        }
+
+        for (int i = 0; i < pieceWidth; i++) {
+            heights[x + i] = Math.max(heights[x + i], y + PieceTable.top(index, i));
+        }
+
+        byte color = PieceTable.color(piece.getShape());
+
+        for (int i = 0; i < PieceTable.CELLS; i++) {
+            int pX = x + PieceTable.cellX(index, i);
+            int pY = y + PieceTable.cellY(index, i);
+            colors[pY * width + pX] = color;
+            hash ^= Zobrist.key(pX, pY);
+        }
+
+        largestRow = Math.max(largestRow, y + pieceHeight);
+
+        features.update(index, x, y);
+
+        return Message.PLACE_OK;
+    }
+
+    public Message insertGarbage(int count, int holeX) {
+        if (!isCommitted) {
+            throw new RuntimeException("Previous round has not been committed");
+        }
+
+        if (count <= 0) {
+            return Message.PLACE_OK;
+        }
+
+        if (holeX < 0 || holeX >= width || largestRow + count > height) {
+            return Message.PLACE_OUT_BOUNDS;
+        }
+
+        System.arraycopy(rows, 0, rows, count, largestRow);
+        System.arraycopy(widths, 0, widths, count, largestRow);
+        System.arraycopy(colors, 0, colors, count * width, largestRow * width);
+
+        long garbage = fullRow & ~(1L << holeX);
+        Arrays.fill(rows, 0, count, garbage);
+        Arrays.fill(widths, 0, count, width - 1);
+        Arrays.fill(colors, 0, count * width, GARBAGE);
+
+        for (int y = 0; y < count; y++) {
+            colors[y * width + holeX] = EMPTY;
+        }
+
+        largestRow += count;
+        hash = 0;
+
+        for (int y = 0; y < largestRow; y++) {
+            hash ^= Zobrist.row(rows[y], y);
+        }
+
+        recomputeHeights();
+        features.insertGarbage(count, holeX);
+        begin();
+
+        return Message.PLACE_OK;
+    }
+
+    private void recomputeHeights() {
+        Arrays.fill(heights, 0);
+        long remaining = fullRow;
+
+        for (int y = largestRow - 1; y >= 0 && remaining != 0; y--) {
+            long found = rows[y] & remaining;
+
+            while (found != 0) {
+                heights[Long.numberOfTrailingZeros(found)] = y + 1;
+                found &= found - 1;
+            }
+
+            remaining &= ~rows[y];
+        }
+    }
+
+    private int compact() {
+        int top = largestRow;
+        int first = 0;
+
+        while (first < top && rows[first] != fullRow) {
+            first += 1;
+        }
+
+        if (first == top) {
+            return 0;
+        }
+
+        backup(first, top);
+        features.clearRows(first, top);
+        int write = first;
+
+        for (int y = first; y < top; y++) {
+            hash ^= Zobrist.row(rows[y], y);
+
+            if (rows[y] == fullRow) {
+                continue;
+            }
+
+            if (write != y) {
+                rows[write] = rows[y];
+                widths[write] = widths[y];
+                System.arraycopy(colors, y * width, colors, write * width, width);
+            }
+
+            hash ^= Zobrist.row(rows[write], write);
+            write += 1;
+        }
+
+        Arrays.fill(rows, write, top, 0L);
+        Arrays.fill(widths, write, top, 0);
+        Arrays.fill(colors, write * width, top * width, EMPTY);
+        largestRow = write;
+        recomputeHeights();
+
+        return top - write;
+    }
+}
@@ -0,0 +1,72 @@
+package com.tetris;
+
+import java.nio.ByteBuffer;
+
+
+public class BoardSnapshot {
+    public static final int HEADER_SIZE = 12;
+
+    private BoardSnapshot() {}
+
+    public static int rowBytes(int width) {
+        return (width + 7) / 8;
+    }
+
+    public static byte[] of(Board board) {
+        int width = board.getWidth();
+        int rowBytes = rowBytes(width);
+        int[] widths = board.getWidths();
+        int count = board.getHeight();
+
+        while (count > 0 && widths[count - 1] == 0) {
+            count -= 1;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * rowBytes);
+        buffer.putInt(width).putInt(board.getHeight()).putInt(count);
+
+        for (int y = 0; y < count; y++) {
+            for (int i = 0; i < rowBytes; i++) {
+                int bits = 0;
+
+                for (int b = 0; b < 8 && 8 * i + b < width; b++) {
+                    if (board.isFilled(8 * i + b, y)) {
+                        bits |= 1 << b;
+                    }
+                }
+
+                buffer.put((byte) bits);
+            }
+        }
+
+        return buffer.array();
+    }
+
+    public static BitBoard load(byte[] snapshot) {
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int count = buffer.getInt();
+        int rowBytes = rowBytes(width);
+
+        if (count > height || buffer.remaining() != count * rowBytes) {
+            throw new RuntimeException("Corrupt board snapshot");
+        }
+
+        BitBoard board = new BitBoard(width, height);
+        long[] rows = new long[height];
+
+        for (int y = 0; y < count; y++) {
+            long row = 0;
+
+            for (int i = 0; i < rowBytes; i++) {
+                row |= (buffer.get() & 0xFFL) << (8 * i);
+            }
+
+            rows[y] = row;
+        }
+
+        board.load(rows);
+        return board;
+    }
+}
@@ -0,0 +1,12 @@
+package com.tetris;
+
+
+public interface BoardView {
+    int getWidth();
+
+    int getHeight();
+
+    boolean isFilled(int x, int y);
+
+    char getCell(int x, int y);
+}
@@ -0,0 +1,235 @@
+package com.tetris;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+public class Bot implements Policy {
+    private static final int INITIAL_PLACEMENTS = 256;
+
+    private Heuristic heuristic;
+    private int depth;
+    private ForkJoinPool pool;
+    private TranspositionTable table;
+    private ConcurrentLinkedQueue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    public Bot(Heuristic heuristic, int depth) {
+        this(heuristic, depth, ForkJoinPool.commonPool(), new TranspositionTable(1 << 16));
+    }
+
+    public Bot(Heuristic heuristic, int depth, ForkJoinPool pool, TranspositionTable table) {
+        if (depth < 1) {
+            throw new RuntimeException("Search depth must be at least 1");
+        }
+
+        this.heuristic = heuristic;
+        this.depth = depth;
+        this.pool = pool;
+        this.table = table;
+    }
+
+    public void play(Tetris tetris) {
+        Workspace root = borrow(tetris.getBoard());
+
+        try {
+            Piece[] sequence = new Piece[Math.min(depth, 1 + tetris.getPreviewSize())];
+            sequence[0] = tetris.getCurrentPiece();
+
+            for (int i = 1; i < sequence.length; i++) {
+                sequence[i] = tetris.getPreview(i - 1);
+            }
+
+            MoveGenerator generator = root.generators[0];
+            generator.load(tetris);
+            root.boards[0].load(generator.getRows());
+
+            int count = generator.generate(sequence[0], tetris.getCurrentX(), tetris.getCurrentY());
+            int[] placements = generator.getPlacements();
+
+            if (count == 0) {
+                tetris.hardDrop();
+                return;
+            }
+
+            double[] scores = new double[count];
+
+            if (sequence.length == 1 && heuristic instanceof WeightedHeuristic) {
+                evaluateBatch(root.batch, root.boards[0], sequence[0], placements, count, 0, scores);
+            } else {
+                pool.invoke(new SearchTask(root.boards[0], sequence, placements, scores, 0, count));
+            }
+
+            int best = 0;
+
+            for (int i = 1; i < count; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+
+            int placement = placements[best];
+            tetris.place(generator.getPiece(placement), Placement.x(placement), Placement.y(placement));
+        } finally {
+            workspaces.offer(root);
+        }
+    }
+
+    private Workspace borrow(Board board) {
+        Workspace workspace = workspaces.poll();
+
+        if (workspace == null || workspace.width != board.getWidth() || workspace.height != board.getHeight()) {
+            workspace = new Workspace(board.getWidth(), board.getHeight(), depth);
+        }
+
+        return workspace;
+    }
+
+    private double search(Workspace workspace, Piece[] sequence, int level, int lines) {
+        BitBoard board = workspace.boards[level];
+
+        if (level == sequence.length) {
+            long key = TranspositionTable.hash(board, lines);
+            double value = table.get(key);
+
+            if (Double.isNaN(value)) {
+                value = heuristic.evaluate(board, lines);
+                table.put(key, value);
+            }
+
+            return value;
+        }
+
+        Piece piece = sequence[level];
+        MoveGenerator generator = workspace.generators[level];
+
+        generator.load(board.getRows(), board.getLargestRow());
+        int count = generator.generate(piece, (board.getWidth() - piece.getWidth()) / 2, board.getHeight() - piece.getHeight());
+        int[] placements = generator.getPlacements();
+        double best = Double.NEGATIVE_INFINITY;
+
+        if (level + 1 == sequence.length && heuristic instanceof WeightedHeuristic) {
+            evaluateBatch(workspace.batch, board, piece, placements, count, lines, workspace.scores(count));
+
+            for (int i = 0; i < count; i++) {
+                best = Math.max(best, workspace.scores[i]);
+            }
+
+            return best;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int placement = placements[i];
+            BitBoard next = workspace.boards[level + 1];
+
+            next.copyFrom(board);
+            next.insert(generator.getPiece(placement), Placement.x(placement), Placement.y(placement));
+            next.commit();
+            int cleared = next.clearRows();
+
+            best = Math.max(best, search(workspace, sequence, level + 1, lines + cleared));
+        }
+
+        return best;
+    }
+
+    private void evaluateBatch(BatchEvaluator batch, BitBoard board, Piece piece, int[] placements, int count, int lines, double[] scores) {
+        batch.evaluatePlacements(board, piece.getShape(), placements, count);
+        ((WeightedHeuristic) heuristic).evaluate(batch, lines, scores);
+
+        long[] hashes = batch.getHashes();
+        int[] cleared = batch.getLines();
+
+        for (int i = 0; i < count; i++) {
+            long key = TranspositionTable.key(hashes[i], lines + cleared[i]);
+            double value = table.get(key);
+
+            if (Double.isNaN(value)) {
+                table.put(key, scores[i]);
+            } else {
+                scores[i] = value;
+            }
+        }
+    }
+
+    private static class Workspace {
+        int width;
+        int height;
+        BitBoard[] boards;
+        MoveGenerator[] generators;
+        BatchEvaluator batch;
+        double[] scores = new double[INITIAL_PLACEMENTS];
+
+        Workspace(int width, int height, int depth) {
+            this.width = width;
+            this.height = height;
+            boards = new BitBoard[depth + 1];
+            generators = new MoveGenerator[depth];
+            batch = new BatchEvaluator(width, INITIAL_PLACEMENTS);
+
+            for (int i = 0; i <= depth; i++) {
+                boards[i] = new BitBoard(width, height);
+            }
+
+            for (int i = 0; i < depth; i++) {
+                generators[i] = new MoveGenerator(width, height);
+            }
+        }
+
+        double[] scores(int count) {
+            if (scores.length < count) {
+                scores = new double[Math.max(count, 2 * scores.length)];
+            }
+
+            return scores;
+        }
+    }
+
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private BitBoard root;
+        private Piece[] sequence;
+        private int[] placements;
+        private double[] scores;
+        private int from;
+        private int to;
+
+        SearchTask(BitBoard root, Piece[] sequence, int[] placements, double[] scores, int from, int to) {
+            this.root = root;
+            this.sequence = sequence;
+            this.placements = placements;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                    new SearchTask(root, sequence, placements, scores, from, mid),
+                    new SearchTask(root, sequence, placements, scores, mid, to)
+                );
+                return;
+            }
+
+            Workspace workspace = borrow(root);
+
+            try {
+                int placement = placements[from];
+                Piece piece = Piece.of(PieceTable.index(sequence[0].getShape(), Placement.rotation(placement)));
+
+                BitBoard next = workspace.boards[1];
+                next.copyFrom(root);
+                next.insert(piece, Placement.x(placement), Placement.y(placement));
+                next.commit();
+                int cleared = next.clearRows();
+
+                scores[from] = search(workspace, sequence, 1, cleared);
+            } finally {
+                workspaces.offer(workspace);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tetris;
+
+
+public class DropTable {
+    public static final int MISS = Byte.MIN_VALUE;
+    public static final int MAX_WIDTH = 16;
+
+    private static final int BITS = 4;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int BIAS = 8;
+    private static final int MIN_DELTA = 1 - BIAS;
+    private static final int MAX_DELTA = MASK - BIAS;
+
+    private static final int[] START = new int[PieceTable.SIZE];
+    private static final byte[] OFFSETS;
+
+    static {
+        int size = 0;
+
+        for (int index = 0; index < PieceTable.SIZE; index++) {
+            START[index] = size;
+
+            if (PieceTable.width(index) > 0) {
+                size += 1 << BITS * (PieceTable.width(index) - 1);
+            }
+        }
+
+        OFFSETS = new byte[size];
+
+        for (int index = 0; index < PieceTable.SIZE; index++) {
+            int width = PieceTable.width(index);
+
+            if (width == 0) {
+                continue;
+            }
+
+            for (int code = 0; code < 1 << BITS * (width - 1); code++) {
+                OFFSETS[START[index] + code] = (byte) compute(index, code);
+            }
+        }
+    }
+
+    private DropTable() {}
+
+    private static int compute(int index, int code) {
+        int width = PieceTable.width(index);
+        int[] profile = new int[width];
+
+        for (int c = 1; c < width; c++) {
+            int nibble = code >>> BITS * (c - 1) & MASK;
+
+            if (nibble == 0) {
+                return MISS;
+            }
+
+            profile[c] = profile[c - 1] + nibble - BIAS;
+        }
+
+        int offset = Integer.MIN_VALUE;
+
+        for (int c = 0; c < width; c++) {
+            offset = Math.max(offset, profile[c] - PieceTable.skirt(index, c));
+        }
+
+        return offset;
+    }
+
+    public static long surface(int[] heights, int width) {
+        long surface = 0;
+
+        for (int x = 1; x < Math.min(width, MAX_WIDTH); x++) {
+            int delta = heights[x] - heights[x - 1];
+
+            if (delta >= MIN_DELTA && delta <= MAX_DELTA) {
+                surface |= (long) (delta + BIAS) << BITS * (x - 1);
+            }
+        }
+
+        return surface;
+    }
+
+    public static int lookup(int index, long surface, int x) {
+        int width = PieceTable.width(index);
+
+        if (x + width > MAX_WIDTH) {
+            return MISS;
+        }
+
+        int code = (int) (surface >>> BITS * x) & (1 << BITS * (width - 1)) - 1;
+        return OFFSETS[START[index] + code];
+    }
+
+    public static int dropHeight(int index, int[] heights, long surface, int x) {
+        int offset = lookup(index, surface, x);
+
+        if (offset != MISS) {
+            return heights[x] + offset;
+        }
+
+        return dropHeight(index, heights, x);
+    }
+
+    public static int dropHeight(int index, int[] heights, int x) {
+        int width = PieceTable.width(index);
+        int code = 0;
+
+        for (int c = 1; c < width; c++) {
+            int delta = heights[x + c] - heights[x + c - 1];
+
+            if (delta < MIN_DELTA || delta > MAX_DELTA) {
+                return scan(index, heights, x);
+            }
+
+            code |= (delta + BIAS) << BITS * (c - 1);
+        }
+
+        return heights[x] + OFFSETS[START[index] + code];
+    }
+
+    private static int scan(int index, int[] heights, int x) {
+        int y = 0;
+
+        for (int c = 0; c < PieceTable.width(index); c++) {
+            y = Math.max(y, heights[x + c] - PieceTable.skirt(index, c));
+        }
+
+        return y;
+    }
+}
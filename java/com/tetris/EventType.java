@@ -0,0 +1,10 @@
+package com.tetris;
+
+enum EventType {
+    SPAWNED,
+    MOVED,
+    ROTATED,
+    LOCKED,
+    LINES_CLEARED,
+    GAME_OVER
+}
@@ -0,0 +1,11 @@
+package com.tetris;
+
+enum Feature {
+    AGGREGATE_HEIGHT,
+    MAX_HEIGHT,
+    BUMPINESS,
+    HOLES,
+    COLUMN_TRANSITIONS,
+    ROW_TRANSITIONS,
+    WELLS
+}
@@ -0,0 +1,442 @@
+package com.tetris;
+
+import java.util.Arrays;
+
+
+public class Features {
+    private static final int HOLES = 0;
+    private static final int COLUMN_TRANSITIONS = 1;
+    private static final int WELLS = 2;
+    private static final int HEIGHTS = 3;
+    private static final int FILLED = 4;
+    private static final int ROW_TRANSITIONS = 5;
+
+    private Board board;
+    private int width;
+    private int height;
+    private int[][] values;
+    private int[] totals = new int[Feature.values().length];
+    private int[] xTotals = new int[Feature.values().length];
+    private int[] journal = new int[48];
+    private int journalSize = 0;
+    private boolean recomputed = false;
+    private int rowTop = 0;
+
+    public Features(Board board) {
+        this.board = board;
+        width = board.getWidth();
+        height = board.getHeight();
+        values = new int[][] {
+            new int[width],
+            new int[width],
+            new int[width],
+            new int[width],
+            new int[width],
+            new int[height]
+        };
+        recomputeAll();
+    }
+
+    public int get(Feature feature) {
+        if (feature == Feature.MAX_HEIGHT) {
+            int maxHeight = 0;
+
+            for (int x = 0; x < width; x++) {
+                maxHeight = Math.max(maxHeight, values[HEIGHTS][x]);
+            }
+
+            return maxHeight;
+        }
+
+        return totals[feature.ordinal()];
+    }
+
+    public int[] toArray(int[] out) {
+        for (Feature feature : Feature.values()) {
+            out[feature.ordinal()] = get(feature);
+        }
+
+        return out;
+    }
+
+    public String toString() {
+        int[] vector = toArray(new int[totals.length]);
+        StringBuilder sb = new StringBuilder();
+
+        for (Feature feature : Feature.values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+
+            sb.append(feature).append('=').append(vector[feature.ordinal()]);
+        }
+
+        return sb.toString();
+    }
+
+    public void begin() {
+        journalSize = 0;
+        recomputed = false;
+        System.arraycopy(totals, 0, xTotals, 0, totals.length);
+    }
+
+    public void rollback() {
+        if (recomputed) {
+            recomputeAll();
+        } else {
+            for (int i = journalSize - 1; i >= 0; i--) {
+                values[journal[3 * i]][journal[3 * i + 1]] = journal[3 * i + 2];
+            }
+
+            System.arraycopy(xTotals, 0, totals, 0, totals.length);
+        }
+
+        journalSize = 0;
+        recomputed = false;
+    }
+
+    public void copyFrom(Features other) {
+        int top = Math.max(rowTop, other.rowTop);
+
+        for (int i = 0; i < ROW_TRANSITIONS; i++) {
+            System.arraycopy(other.values[i], 0, values[i], 0, width);
+        }
+
+        System.arraycopy(other.values[ROW_TRANSITIONS], 0, values[ROW_TRANSITIONS], 0, top);
+        System.arraycopy(other.totals, 0, totals, 0, totals.length);
+        rowTop = other.rowTop;
+        journalSize = 0;
+        recomputed = false;
+    }
+
+    private void set(int array, int index, int value) {
+        int old = values[array][index];
+
+        if (old == value) {
+            return;
+        }
+
+        if (3 * journalSize + 3 > journal.length) {
+            journal = Arrays.copyOf(journal, journal.length * 2);
+        }
+
+        journal[3 * journalSize] = array;
+        journal[3 * journalSize + 1] = index;
+        journal[3 * journalSize + 2] = old;
+        journalSize += 1;
+        values[array][index] = value;
+    }
+
+    public void update(int index, int xFrom, int yFrom) {
+        int xTo = xFrom + PieceTable.width(index);
+        int yTo = yFrom + PieceTable.height(index);
+        int[] heights = board.getHeights();
+        int[] mirror = values[HEIGHTS];
+        int pairFrom = Math.max(1, xFrom);
+        int pairTo = Math.min(width - 1, xTo);
+
+        for (int x = pairFrom; x <= pairTo; x++) {
+            totals[Feature.BUMPINESS.ordinal()] -= Math.abs(mirror[x] - mirror[x - 1]);
+        }
+
+        for (int x = xFrom; x < xTo; x++) {
+            totals[Feature.AGGREGATE_HEIGHT.ordinal()] += heights[x] - mirror[x];
+            set(HEIGHTS, x, heights[x]);
+            updateColumn(x, index, x - xFrom, yFrom);
+        }
+
+        for (int x = pairFrom; x <= pairTo; x++) {
+            totals[Feature.BUMPINESS.ordinal()] += Math.abs(mirror[x] - mirror[x - 1]);
+        }
+
+        for (int x = Math.max(0, xFrom - 1); x < Math.min(width, xTo + 1); x++) {
+            updateWell(x);
+        }
+
+        for (int y = yFrom; y < yTo; y++) {
+            updateRow(y);
+        }
+
+        rowTop = Math.max(rowTop, yTo);
+    }
+
+    public void clearRows(int first, int top) {
+        int[] widths = board.getWidths();
+        int[] mirror = values[HEIGHTS];
+        int write = first;
+
+        for (int y = first; y < top; y++) {
+            if (widths[y] != width) {
+                set(ROW_TRANSITIONS, write, values[ROW_TRANSITIONS][y]);
+                write += 1;
+            }
+        }
+
+        int cleared = top - write;
+
+        for (int y = write; y < top; y++) {
+            set(ROW_TRANSITIONS, y, 0);
+        }
+
+        for (int x = 0; x < width; x++) {
+            int columnTop = mirror[x];
+            int runs = (values[COLUMN_TRANSITIONS][x] - (columnTop < height ? 1 : 0)) / 2;
+            int columnHeight = columnTop - cleared;
+            int y = first;
+
+            while (y < top) {
+                if (widths[y] != width) {
+                    y += 1;
+                    continue;
+                }
+
+                int from = y;
+
+                while (y < top && widths[y] == width) {
+                    y += 1;
+                }
+
+                if (from > 0 && !board.isFilled(x, from - 1)) {
+                    if (y >= columnTop) {
+                        runs -= 1;
+                        columnHeight = clearedHeight(x, from - 1, first, top);
+                    } else if (!board.isFilled(x, y)) {
+                        runs -= 1;
+                    }
+                }
+            }
+
+            setColumn(x, columnHeight, values[FILLED][x] - cleared, runs);
+        }
+
+        updateHeights();
+    }
+
+    private int clearedHeight(int x, int y, int first, int top) {
+        int[] widths = board.getWidths();
+
+        while (y >= 0 && (widths[y] == width || !board.isFilled(x, y))) {
+            y -= 1;
+        }
+
+        if (y < first) {
+            return y + 1;
+        }
+
+        int below = 0;
+
+        for (int row = first; row < y; row++) {
+            if (widths[row] == width) {
+                below += 1;
+            }
+        }
+
+        return y + 1 - below;
+    }
+
+    public void insertGarbage(int count, int holeX) {
+        int[] mirror = values[HEIGHTS];
+
+        for (int y = Math.min(rowTop, height - count) - 1; y >= 0; y--) {
+            set(ROW_TRANSITIONS, y + count, values[ROW_TRANSITIONS][y]);
+        }
+
+        for (int y = 0; y < count; y++) {
+            values[ROW_TRANSITIONS][y] = 0;
+            updateRow(y);
+        }
+
+        rowTop = Math.min(height, rowTop + count);
+
+        for (int x = 0; x < width; x++) {
+            int columnTop = mirror[x];
+            int runs = (values[COLUMN_TRANSITIONS][x] - (columnTop < height ? 1 : 0)) / 2;
+
+            if (x != holeX) {
+                setColumn(x, columnTop + count, values[FILLED][x] + count, runs);
+            } else if (columnTop > 0) {
+                setColumn(x, columnTop + count, values[FILLED][x], board.isFilled(x, count) ? runs + 1 : runs);
+            }
+        }
+
+        updateHeights();
+        begin();
+    }
+
+    private void setColumn(int x, int columnHeight, int filled, int runs) {
+        int holes = columnHeight - filled;
+        int transitions = 2 * runs + (columnHeight < height ? 1 : 0);
+
+        totals[Feature.HOLES.ordinal()] += holes - values[HOLES][x];
+        totals[Feature.COLUMN_TRANSITIONS.ordinal()] += transitions - values[COLUMN_TRANSITIONS][x];
+        set(HEIGHTS, x, columnHeight);
+        set(FILLED, x, filled);
+        set(HOLES, x, holes);
+        set(COLUMN_TRANSITIONS, x, transitions);
+    }
+
+    private void updateHeights() {
+        int[] mirror = values[HEIGHTS];
+        int aggregate = 0;
+        int bumpiness = 0;
+
+        for (int x = 0; x < width; x++) {
+            aggregate += mirror[x];
+
+            if (x > 0) {
+                bumpiness += Math.abs(mirror[x] - mirror[x - 1]);
+            }
+        }
+
+        totals[Feature.AGGREGATE_HEIGHT.ordinal()] = aggregate;
+        totals[Feature.BUMPINESS.ordinal()] = bumpiness;
+
+        for (int x = 0; x < width; x++) {
+            updateWell(x);
+        }
+    }
+
+    public void recomputeAll() {
+        int[] heights = board.getHeights();
+        int top = 0;
+
+        Arrays.fill(totals, 0);
+
+        for (int x = 0; x < width; x++) {
+            values[HEIGHTS][x] = heights[x];
+            totals[Feature.AGGREGATE_HEIGHT.ordinal()] += heights[x];
+            top = Math.max(top, heights[x]);
+
+            if (x > 0) {
+                totals[Feature.BUMPINESS.ordinal()] += Math.abs(heights[x] - heights[x - 1]);
+            }
+
+            values[FILLED][x] = columnFilled(x);
+            values[HOLES][x] = heights[x] - values[FILLED][x];
+            values[COLUMN_TRANSITIONS][x] = columnTransitions(x);
+            totals[Feature.HOLES.ordinal()] += values[HOLES][x];
+            totals[Feature.COLUMN_TRANSITIONS.ordinal()] += values[COLUMN_TRANSITIONS][x];
+        }
+
+        for (int x = 0; x < width; x++) {
+            values[WELLS][x] = columnWells(x);
+            totals[Feature.WELLS.ordinal()] += values[WELLS][x];
+        }
+
+        for (int y = 0; y < Math.max(rowTop, top); y++) {
+            values[ROW_TRANSITIONS][y] = y < top ? rowTransitions(y) : 0;
+            totals[Feature.ROW_TRANSITIONS.ordinal()] += values[ROW_TRANSITIONS][y];
+        }
+
+        rowTop = top;
+        recomputed = true;
+    }
+
+    private void updateColumn(int x, int index, int column, int y) {
+        int rows = PieceTable.height(index);
+        int to = Math.min(y + rows + 1, height);
+        boolean before = y == 0 || board.isFilled(x, y - 1);
+        boolean after = before;
+        int delta = 0;
+        int cells = 0;
+
+        for (int py = y; py < to; py++) {
+            boolean piece = py - y < rows && (PieceTable.mask(index, py - y) >>> column & 1L) != 0;
+            boolean filled = board.isFilled(x, py);
+            boolean was = filled && !piece;
+
+            if (piece) {
+                cells += 1;
+            }
+
+            delta += (filled != after ? 1 : 0) - (was != before ? 1 : 0);
+            before = was;
+            after = filled;
+        }
+
+        int filled = values[FILLED][x] + cells;
+        int holes = board.getHeights()[x] - filled;
+        int transitions = values[COLUMN_TRANSITIONS][x] + delta;
+
+        totals[Feature.HOLES.ordinal()] += holes - values[HOLES][x];
+        totals[Feature.COLUMN_TRANSITIONS.ordinal()] += delta;
+        set(FILLED, x, filled);
+        set(HOLES, x, holes);
+        set(COLUMN_TRANSITIONS, x, transitions);
+    }
+
+    private void updateWell(int x) {
+        int wells = columnWells(x);
+
+        totals[Feature.WELLS.ordinal()] += wells - values[WELLS][x];
+        set(WELLS, x, wells);
+    }
+
+    private void updateRow(int y) {
+        int transitions = rowTransitions(y);
+
+        totals[Feature.ROW_TRANSITIONS.ordinal()] += transitions - values[ROW_TRANSITIONS][y];
+        set(ROW_TRANSITIONS, y, transitions);
+    }
+
+    private int columnFilled(int x) {
+        int top = board.getHeights()[x];
+        int filled = 0;
+
+        for (int y = 0; y < top; y++) {
+            if (board.isFilled(x, y)) {
+                filled += 1;
+            }
+        }
+
+        return filled;
+    }
+
+    private int columnTransitions(int x) {
+        int top = Math.min(board.getHeights()[x] + 1, height);
+        boolean previous = true;
+        int transitions = 0;
+
+        for (int y = 0; y < top; y++) {
+            boolean filled = board.isFilled(x, y);
+
+            if (filled != previous) {
+                transitions += 1;
+            }
+
+            previous = filled;
+        }
+
+        return transitions;
+    }
+
+    private int columnWells(int x) {
+        int[] mirror = values[HEIGHTS];
+        int left = x > 0 ? mirror[x - 1] : height;
+        int right = x < width - 1 ? mirror[x + 1] : height;
+        int depth = Math.min(left, right) - mirror[x];
+
+        return depth > 0 ? depth * (depth + 1) / 2 : 0;
+    }
+
+    private int rowTransitions(int y) {
+        if (board.getWidths()[y] == 0) {
+            return 0;
+        }
+
+        boolean previous = true;
+        int transitions = 0;
+
+        for (int x = 0; x < width; x++) {
+            boolean filled = board.isFilled(x, y);
+
+            if (filled != previous) {
+                transitions += 1;
+            }
+
+            previous = filled;
+        }
+
+        return previous ? transitions : transitions + 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tetris;
+
+
+public class FrameStats {
+    private final long frames;
+    private final long overruns;
+    private final long meanFrameNanos;
+    private final long maxFrameNanos;
+    private final long meanJitterNanos;
+    private final long maxJitterNanos;
+
+    public FrameStats(long frames, long overruns, long meanFrameNanos, long maxFrameNanos, long meanJitterNanos, long maxJitterNanos) {
+        this.frames = frames;
+        this.overruns = overruns;
+        this.meanFrameNanos = meanFrameNanos;
+        this.maxFrameNanos = maxFrameNanos;
+        this.meanJitterNanos = meanJitterNanos;
+        this.maxJitterNanos = maxJitterNanos;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public long getMeanFrameNanos() {
+        return meanFrameNanos;
+    }
+
+    public long getMaxFrameNanos() {
+        return maxFrameNanos;
+    }
+
+    public long getMeanJitterNanos() {
+        return meanJitterNanos;
+    }
+
+    public long getMaxJitterNanos() {
+        return maxJitterNanos;
+    }
+
+    public String toString() {
+        return String.format(
+            "frames=%d overruns=%d frame=%.3fms (max %.3fms) jitter=%.3fms (max %.3fms)",
+            frames, overruns, meanFrameNanos / 1e6, maxFrameNanos / 1e6, meanJitterNanos / 1e6, maxJitterNanos / 1e6
+        );
+    }
+}
@@ -1,12 +1,26 @@
 package com.tetris;
 
+import java.io.BufferedReader;
 import java.io.Console;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
 
 public class Game {
+    public static final String HISTORY = System.getProperty("tetris.history",
+        Paths.get(System.getProperty("user.home"), ".tetris", "history.log").toString());
+    public static final int LEADERBOARD_SIZE = 10;
+    public static final int RETAINED_GAMES = 100000;
+
     private Tetris tetris;
+    private long started = System.nanoTime();
+    private TerminalRenderer renderer = new TerminalRenderer(System.out);
     private HashMap<String, Runnable> commands = new HashMap<>();
+    private HashMap<String, Action> actions = new HashMap<>();
 
     public Game() {
         tetris = new Tetris();
@@ -23,14 +37,27 @@ public class Game {
         commands.put(";;;;", () -> hardRight());
         commands.put("de", () -> debug());
         commands.put("n", () -> tick());
+
+        actions.put("z", Action.ROTATE_CCW);
+        actions.put("x", Action.ROTATE_CW);
+        actions.put("k", Action.MOVE_LEFT);
+        actions.put(";", Action.MOVE_RIGHT);
+        actions.put("l", Action.MOVE_DOWN);
+        actions.put("c", Action.HARD_DROP);
+
+        if (Metrics.ENABLED) {
+            tetris.getEvents().subscribe(Metrics.EVENT_COUNTER);
+        }
     }
 
     public void run() {
-        System.out.println("Welcome!");
+        renderer.status("Welcome!");
+        renderer.render(tetris.board);
 
         while (true) {
             Console console = System.console();
             String input = console.readLine();
+            renderer.status("");
 
             if (commands.containsKey(input)) {
                 commands.get(input).run();
@@ -38,7 +65,7 @@ public class Game {
                 try {
                     spawn(input);
                 } catch (Exception e) {
-                    System.out.println("Not a command!");
+                    renderer.status("Not a command!");
                 }
             }
 
@@ -46,42 +73,104 @@ public class Game {
         }
     }
 
+    public void runRealtime(int framesPerSecond) throws InterruptedException {
+        tetris.setDebug(false);
+        GameLoop loop = new GameLoop(tetris, framesPerSecond, framesPerSecond / 2, framesPerSecond / 2);
+        loop.getPublisher().subscribe(renderer::render);
+        Thread input = new Thread(() -> readInput(loop), "tetris-input");
+        input.setDaemon(true);
+
+        renderer.status("Welcome!");
+        loop.start();
+        input.start();
+        loop.join();
+        loop.stop();
+        System.out.println(loop.getStats());
+        quit();
+    }
+
+    private void readInput(GameLoop loop) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+
+        try {
+            String input;
+
+            while ((input = reader.readLine()) != null && !input.equals("q")) {
+                if (input.equals("s")) {
+                    renderer.status(loop.getStats().toString());
+                } else if (actions.containsKey(input)) {
+                    loop.submit(actions.get(input));
+                }
+            }
+        } catch (IOException e) {
+            renderer.status("Could not read input: " + e.getMessage());
+        }
+
+        try {
+            loop.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void quit() {
         System.out.println("Quit Game");
+
+        Path path = Paths.get(HISTORY).toAbsolutePath();
+
+        try {
+            Files.createDirectories(path.getParent());
+
+            try (GameHistoryStore store = new GameHistoryStore(path, LEADERBOARD_SIZE, RETAINED_GAMES)) {
+                store.append(GameRecord.of(tetris, System.nanoTime() - started));
+
+                for (GameRecord record : store.top(LEADERBOARD_SIZE)) {
+                    System.out.println(record);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not save game: " + e.getMessage());
+        }
+
         System.exit(0);
     }
 
     public void printBoard() {
-        System.out.println(tetris.board);
+        renderer.status(tetris.board.toString());
     }
 
     private void printCurrentPiece() {
-        System.out.println(tetris.currentPiece);
-        System.out.println(Arrays.toString(tetris.currentPiece.getBody()));
+        renderer.status(tetris.currentPiece + "\n" + Arrays.toString(tetris.currentPiece.getBody()));
     }
 
     private void spawn(String s) {
         tetris.spawn(s);
     }
 
+    private void report(Message message) {
+        if (message.ordinal() >= Message.PLACE_OUT_BOUNDS.ordinal()) {
+            renderer.status("Failed");
+        }
+    }
+
     private void rotateLeft() {
-        tetris.rotate(-1);
+        report(tetris.rotate(-1));
     }
 
     private void rotateRight() {
-        tetris.rotate(1);
+        report(tetris.rotate(1));
     }
 
     private void moveDown() {
-        tetris.move(0, -1);
+        report(tetris.move(0, -1));
     }
 
     public void moveLeft() {
-        tetris.move(-1, 0);
+        report(tetris.move(-1, 0));
     }
 
     private void moveRight() {
-        tetris.move(1, 0);
+        report(tetris.move(1, 0));
     }
 
     private void hardDrop() {
@@ -97,7 +186,7 @@ public class Game {
     }
 
     public void debug() {
-        tetris.debug();
+        renderer.status(tetris.debug());
     }
 
     public void hold() {}
@@ -108,6 +197,6 @@ public class Game {
 
     public void update() {
         tick();
-        printBoard();
+        renderer.render(tetris.board);
     }
 }
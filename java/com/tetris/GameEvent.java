@@ -0,0 +1,59 @@
+package com.tetris;
+
+
+public class GameEvent {
+    private long sequence;
+    private EventType type;
+    private Piece piece;
+    private int x;
+    private int y;
+    private int lines;
+    private int score;
+
+    void set(long sequence, EventType type, Piece piece, int x, int y, int lines, int score) {
+        this.sequence = sequence;
+        this.type = type;
+        this.piece = piece;
+        this.x = x;
+        this.y = y;
+        this.lines = lines;
+        this.score = score;
+    }
+
+    void copyFrom(GameEvent other) {
+        set(other.sequence, other.type, other.piece, other.x, other.y, other.lines, other.score);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public Piece getPiece() {
+        return piece;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public String toString() {
+        return sequence + " " + type + " " + (piece == null ? "-" : piece.getName())
+            + " (" + x + ", " + y + ") lines=" + lines + " score=" + score;
+    }
+}
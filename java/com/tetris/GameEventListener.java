@@ -0,0 +1,6 @@
+package com.tetris;
+
+
+public interface GameEventListener {
+    void onEvent(GameEvent event, boolean endOfBatch);
+}
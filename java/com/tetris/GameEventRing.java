@@ -0,0 +1,169 @@
+package com.tetris;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+
+public class GameEventRing {
+    private GameEvent[] slots;
+    private AtomicLongArray stamps;
+    private int mask;
+    private long next = 0;
+    private AtomicLong cursor = new AtomicLong(-1);
+    private LongAdder dropped = new LongAdder();
+    private volatile Subscription[] subscriptions = new Subscription[0];
+    private volatile boolean running = true;
+
+    public GameEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        slots = new GameEvent[size];
+        stamps = new AtomicLongArray(size);
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            slots[i] = new GameEvent();
+            stamps.set(i, -1L);
+        }
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public void publish(EventType type, Piece piece, int x, int y, int lines, int score) {
+        long sequence = next++;
+        int index = (int) sequence & mask;
+
+        stamps.set(index, -1L);
+        VarHandle.storeStoreFence();
+        slots[index].set(sequence, type, piece, x, y, lines, score);
+        stamps.setRelease(index, sequence);
+        cursor.set(sequence);
+
+        for (Subscription subscription : subscriptions) {
+            if (subscription.waiting) {
+                LockSupport.unpark(subscription.thread);
+            }
+        }
+    }
+
+    public synchronized void subscribe(GameEventListener listener) {
+        if (!running) {
+            throw new RuntimeException("Event ring is closed");
+        }
+
+        Subscription subscription = new Subscription(listener, cursor.get() + 1);
+        Subscription[] current = subscriptions;
+        Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        subscription.thread.start();
+    }
+
+    public synchronized void unsubscribe(GameEventListener listener) throws InterruptedException {
+        Subscription[] current = subscriptions;
+
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].listener == listener) {
+                Subscription subscription = current[i];
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, updated.length - i);
+                subscriptions = updated;
+                subscription.stop();
+                return;
+            }
+        }
+    }
+
+    public synchronized void close() throws InterruptedException {
+        running = false;
+
+        for (Subscription subscription : subscriptions) {
+            subscription.stop();
+        }
+
+        subscriptions = new Subscription[0];
+    }
+
+    private boolean read(long sequence, GameEvent out) {
+        int index = (int) sequence & mask;
+
+        if (stamps.getAcquire(index) != sequence) {
+            return false;
+        }
+
+        out.copyFrom(slots[index]);
+        VarHandle.acquireFence();
+        return stamps.get(index) == sequence;
+    }
+
+    private class Subscription implements Runnable {
+        private GameEventListener listener;
+        private GameEvent event = new GameEvent();
+        private long sequence;
+        private Thread thread;
+        private volatile boolean waiting;
+        private volatile boolean active = true;
+
+        Subscription(GameEventListener listener, long sequence) {
+            this.listener = listener;
+            this.sequence = sequence;
+            thread = new Thread(this, "tetris-event-dispatcher");
+            thread.setDaemon(true);
+        }
+
+        void stop() throws InterruptedException {
+            active = false;
+            LockSupport.unpark(thread);
+
+            if (Thread.currentThread() != thread) {
+                thread.join();
+            }
+        }
+
+        public void run() {
+            while (true) {
+                long available = cursor.get();
+
+                if (sequence > available) {
+                    if (!active) {
+                        return;
+                    }
+
+                    waiting = true;
+
+                    if (cursor.get() < sequence && active) {
+                        LockSupport.park(this);
+                    }
+
+                    waiting = false;
+                    continue;
+                }
+
+                if (available - sequence >= slots.length) {
+                    long skipped = available - slots.length + 1 - sequence;
+                    dropped.add(skipped);
+                    sequence += skipped;
+                }
+
+                while (sequence <= available && read(sequence, event)) {
+                    listener.onEvent(event, sequence == available);
+                    sequence += 1;
+                }
+            }
+        }
+    }
+}
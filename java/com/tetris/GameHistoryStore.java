@@ -0,0 +1,182 @@
+package com.tetris;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+
+public class GameHistoryStore implements Closeable {
+    public static final int MAGIC = 0x54484953;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+
+    private static final int GROWTH_RECORDS = 16384;
+
+    private Path path;
+    private int topK;
+    private int retain;
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private long count;
+    private volatile GameRecord[] leaderboard = new GameRecord[0];
+
+    public GameHistoryStore(Path path, int topK, int retain) throws IOException {
+        if (topK < 1 || retain < 1) {
+            throw new RuntimeException("Leaderboard size and retained history must be positive");
+        }
+
+        this.path = path;
+        this.topK = topK;
+        this.retain = retain;
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long records = Math.max(0, (channel.size() - HEADER_SIZE) / GameRecord.SIZE);
+        map(records + GROWTH_RECORDS);
+
+        if (map.getInt(0) == 0 && map.getInt(4) == 0) {
+            map.putInt(0, MAGIC).putInt(4, VERSION);
+        } else if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            throw new RuntimeException("Not a game history file " + path);
+        }
+
+        count = 0;
+        leaderboard = new GameRecord[0];
+
+        for (long i = 0; i < records; i++) {
+            GameRecord record = GameRecord.read(map, offset(i));
+
+            if (record == null) {
+                break;
+            }
+
+            count += 1;
+            rank(record);
+        }
+    }
+
+    private void map(long records) throws IOException {
+        long size = HEADER_SIZE + records * GameRecord.SIZE;
+
+        if (size > Integer.MAX_VALUE) {
+            throw new RuntimeException("Game history is full, compact it first");
+        }
+
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static int offset(long index) {
+        return (int) (HEADER_SIZE + index * GameRecord.SIZE);
+    }
+
+    public synchronized void append(GameRecord record) throws IOException {
+        if (offset(count + 1) > map.capacity()) {
+            map(count + GROWTH_RECORDS);
+        }
+
+        record.write(map, offset(count));
+        count += 1;
+        rank(record);
+
+        if (count >= 2L * (retain + topK)) {
+            compact();
+        }
+    }
+
+    private void rank(GameRecord record) {
+        GameRecord[] current = leaderboard;
+        int position = current.length;
+
+        while (position > 0 && record.ranksAbove(current[position - 1])) {
+            position -= 1;
+        }
+
+        if (position >= topK) {
+            return;
+        }
+
+        int length = Math.min(current.length + 1, topK);
+        GameRecord[] next = new GameRecord[length];
+        System.arraycopy(current, 0, next, 0, position);
+        next[position] = record;
+        System.arraycopy(current, position, next, position + 1, length - position - 1);
+        leaderboard = next;
+    }
+
+    public List<GameRecord> top(int n) {
+        GameRecord[] current = leaderboard;
+        return List.of(Arrays.copyOf(current, Math.min(n, current.length)));
+    }
+
+    public synchronized long size() {
+        return count;
+    }
+
+    public synchronized void forEach(Consumer<GameRecord> consumer) {
+        for (long i = 0; i < count; i++) {
+            consumer.accept(GameRecord.read(map, offset(i)));
+        }
+    }
+
+    public synchronized void flush() {
+        map.force();
+    }
+
+    public synchronized void compact() throws IOException {
+        Set<GameRecord> kept = new HashSet<>(Arrays.asList(leaderboard));
+        List<GameRecord> records = new ArrayList<>();
+        long newest = Math.max(0, count - retain);
+
+        for (long i = 0; i < count; i++) {
+            GameRecord record = GameRecord.read(map, offset(i));
+
+            if (i >= newest || kept.contains(record)) {
+                records.add(record);
+            }
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".compact");
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + records.size() * GameRecord.SIZE);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION);
+
+        for (int i = 0; i < records.size(); i++) {
+            records.get(i).write(buffer, offset(i));
+        }
+
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+
+            out.force(true);
+        }
+
+        // The old mapping is only released once it is collected, so
+        // replacing the file under it relies on POSIX rename semantics.
+        map.force();
+        map = null;
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.truncate(offset(count));
+        channel.close();
+    }
+}
@@ -0,0 +1,190 @@
+package com.tetris;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+public class GameLoop {
+    private static final int MAX_CATCH_UP_FRAMES = 5;
+    private static final int STATS_INTERVAL = 60;
+
+    private Tetris tetris;
+    private Consumer<Tetris> renderer;
+    private ConcurrentLinkedQueue<Action> input = new ConcurrentLinkedQueue<>();
+    private SnapshotPublisher publisher = new SnapshotPublisher();
+    private long frameNanos;
+    private int gravityFrames;
+    private int lockDelayFrames;
+
+    private volatile boolean running;
+    private volatile FrameStats stats = new FrameStats(0, 0, 0, 0, 0, 0);
+    private Thread thread;
+
+    private int gravityCounter = 0;
+    private int lockCounter = 0;
+    private boolean dirty = true;
+
+    private long frames = 0;
+    private long overruns = 0;
+    private long totalFrameNanos = 0;
+    private long maxFrameNanos = 0;
+    private long totalJitterNanos = 0;
+    private long maxJitterNanos = 0;
+
+    public GameLoop(Tetris tetris, int framesPerSecond, int gravityFrames, int lockDelayFrames) {
+        this(tetris, t -> {}, framesPerSecond, gravityFrames, lockDelayFrames);
+    }
+
+    public GameLoop(Tetris tetris, Consumer<Tetris> renderer, int framesPerSecond, int gravityFrames, int lockDelayFrames) {
+        this.tetris = tetris;
+        this.renderer = renderer;
+        this.frameNanos = 1000000000L / framesPerSecond;
+        this.gravityFrames = gravityFrames;
+        this.lockDelayFrames = lockDelayFrames;
+    }
+
+    public void submit(Action action) {
+        input.offer(action);
+    }
+
+    public SnapshotPublisher getPublisher() {
+        return publisher;
+    }
+
+    public FrameStats getStats() {
+        return stats;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "tetris-game-loop");
+        thread.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+
+        publisher.close();
+    }
+
+    public void join() throws InterruptedException {
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void run() {
+        if (tetris.getCurrentPiece() == null) {
+            tetris.generateRandomPiece();
+        }
+
+        long next = System.nanoTime();
+
+        while (running && !tetris.isGameOver()) {
+            long now = System.nanoTime();
+
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+
+            long jitter = now - next;
+            int steps = 0;
+
+            while (next <= now && steps < MAX_CATCH_UP_FRAMES) {
+                update();
+                next += frameNanos;
+                steps += 1;
+            }
+
+            if (next <= now) {
+                overruns += 1;
+                next = now + frameNanos;
+            }
+
+            if (dirty) {
+                renderer.accept(tetris);
+                publisher.publish(tetris);
+                dirty = false;
+            }
+
+            record(System.nanoTime() - now, jitter);
+        }
+
+        renderer.accept(tetris);
+        publisher.publish(tetris);
+        publish();
+        running = false;
+    }
+
+    private void update() {
+        Action action;
+
+        while ((action = input.poll()) != null) {
+            int pieceCount = tetris.getPieceCount();
+            tetris.apply(action);
+            dirty = true;
+
+            if (tetris.getPieceCount() != pieceCount) {
+                gravityCounter = 0;
+                lockCounter = 0;
+            }
+        }
+
+        if (tetris.isGameOver()) {
+            return;
+        }
+
+        if (tetris.isResting()) {
+            gravityCounter = 0;
+            lockCounter += 1;
+
+            if (lockCounter >= lockDelayFrames) {
+                tetris.lock();
+                lockCounter = 0;
+                dirty = true;
+            }
+
+            return;
+        }
+
+        lockCounter = 0;
+        gravityCounter += 1;
+
+        if (gravityCounter >= gravityFrames) {
+            gravityCounter = 0;
+            tetris.move(0, -1);
+            dirty = true;
+        }
+    }
+
+    private void record(long frameTime, long jitter) {
+        frames += 1;
+        totalFrameNanos += frameTime;
+        maxFrameNanos = Math.max(maxFrameNanos, frameTime);
+        totalJitterNanos += jitter;
+        maxJitterNanos = Math.max(maxJitterNanos, jitter);
+
+        if (frames % STATS_INTERVAL == 0) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        if (frames == 0) {
+            return;
+        }
+
+        stats = new FrameStats(frames, overruns, totalFrameNanos / frames, maxFrameNanos, totalJitterNanos / frames, maxJitterNanos);
+    }
+}
@@ -0,0 +1,122 @@
+package com.tetris;
+
+import java.nio.ByteBuffer;
+
+
+public class GameRecord {
+    public static final int SIZE = 40;
+
+    private final long seed;
+    private final long finishedAt;
+    private final long durationNanos;
+    private final int score;
+    private final int lines;
+    private final int pieces;
+
+    public GameRecord(long seed, long finishedAt, long durationNanos, int score, int lines, int pieces) {
+        this.seed = seed;
+        this.finishedAt = finishedAt;
+        this.durationNanos = durationNanos;
+        this.score = score;
+        this.lines = lines;
+        this.pieces = pieces;
+    }
+
+    public static GameRecord of(Tetris tetris, long durationNanos) {
+        return new GameRecord(
+            tetris.getSeed(),
+            System.currentTimeMillis(),
+            durationNanos,
+            tetris.getScore(),
+            tetris.getLineCount(),
+            tetris.getPieceCount()
+        );
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public int getPieces() {
+        return pieces;
+    }
+
+    public boolean ranksAbove(GameRecord other) {
+        if (score != other.score) {
+            return score > other.score;
+        }
+
+        if (lines != other.lines) {
+            return lines > other.lines;
+        }
+
+        return finishedAt < other.finishedAt;
+    }
+
+    private int checksum() {
+        long hash = SplitMix64.mix(seed + SplitMix64.GAMMA);
+        hash = SplitMix64.mix(hash ^ finishedAt);
+        hash = SplitMix64.mix(hash ^ durationNanos);
+        hash = SplitMix64.mix(hash ^ ((long) score << 32 | lines & 0xFFFFFFFFL));
+        hash = SplitMix64.mix(hash ^ pieces);
+        return (int) hash;
+    }
+
+    public void write(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, seed);
+        buffer.putLong(offset + 8, finishedAt);
+        buffer.putLong(offset + 16, durationNanos);
+        buffer.putInt(offset + 24, score);
+        buffer.putInt(offset + 28, lines);
+        buffer.putInt(offset + 32, pieces);
+        buffer.putInt(offset + 36, checksum());
+    }
+
+    public static GameRecord read(ByteBuffer buffer, int offset) {
+        GameRecord record = new GameRecord(
+            buffer.getLong(offset),
+            buffer.getLong(offset + 8),
+            buffer.getLong(offset + 16),
+            buffer.getInt(offset + 24),
+            buffer.getInt(offset + 28),
+            buffer.getInt(offset + 32)
+        );
+
+        return record.checksum() == buffer.getInt(offset + 36) ? record : null;
+    }
+
+    public boolean equals(Object other) {
+        if (!(other instanceof GameRecord)) {
+            return false;
+        }
+
+        GameRecord record = (GameRecord) other;
+        return seed == record.seed && finishedAt == record.finishedAt && durationNanos == record.durationNanos
+            && score == record.score && lines == record.lines && pieces == record.pieces;
+    }
+
+    public int hashCode() {
+        return checksum();
+    }
+
+    public String toString() {
+        return "score=" + score + " lines=" + lines + " pieces=" + pieces
+            + " seconds=" + durationNanos / 1000000000L + " seed=" + seed;
+    }
+}
@@ -0,0 +1,271 @@
+package com.tetris;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class GameServer {
+    private static final int INPUT_SIZE = 1024;
+
+    private int width;
+    private int height;
+    private ServerSocketChannel server;
+    private Worker[] workers;
+    private Thread[] threads;
+    private Thread acceptor;
+    private AtomicInteger sessions = new AtomicInteger();
+    private volatile boolean running;
+
+    public GameServer(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int start(int port, int workerCount) throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", port));
+        running = true;
+        workers = new Worker[workerCount];
+        threads = new Thread[workerCount];
+        SplitMix64 seeds = new SplitMix64(System.nanoTime());
+
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(seeds.split());
+            threads[i] = new Thread(workers[i], "tetris-server-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        acceptor = new Thread(this::accept, "tetris-server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        server.close();
+        acceptor.join();
+
+        for (Worker worker : workers) {
+            worker.selector.wakeup();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.get();
+    }
+
+    private void accept() {
+        int next = 0;
+
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                Worker worker = workers[next];
+                next = (next + 1) % workers.length;
+                worker.pending.offer(channel);
+                worker.selector.wakeup();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static class Session {
+        Tetris tetris;
+        ByteBuffer input = ByteBuffer.allocate(INPUT_SIZE);
+        ByteBuffer output;
+
+        Session(Tetris tetris, int height) {
+            this.tetris = tetris;
+            output = ByteBuffer.allocate(4 + 3 * 4 + 1 + 1 + 2 + 8 * height);
+            output.limit(0);
+        }
+    }
+
+    private class Worker implements Runnable {
+        Selector selector;
+        ConcurrentLinkedQueue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        SplitMix64 seeds;
+
+        Worker(SplitMix64 seeds) throws IOException {
+            this.seeds = seeds;
+            selector = Selector.open();
+        }
+
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    register();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+
+                        try {
+                            handle(key);
+                        } catch (IOException | CancelledKeyException e) {
+                            close(key);
+                        }
+                    }
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) {
+                    System.err.println("Worker stopped: " + e.getMessage());
+                }
+            } finally {
+                shutdown();
+            }
+        }
+
+        private void shutdown() {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+
+            SocketChannel channel;
+
+            while ((channel = pending.poll()) != null) {
+                discard(channel);
+            }
+
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Nothing is left registered with it.
+            }
+        }
+
+        private void register() {
+            SocketChannel channel;
+
+            while ((channel = pending.poll()) != null) {
+                BitBoard board = new BitBoard(width, height);
+                Tetris tetris = new Tetris(board, seeds.nextLong());
+                tetris.setDebug(false);
+                tetris.generateRandomPiece();
+
+                Session session = new Session(tetris, height);
+                SelectionKey key = null;
+
+                try {
+                    channel.configureBlocking(false);
+                    key = channel.register(selector, SelectionKey.OP_READ, session);
+                    sessions.incrementAndGet();
+                    encode(session);
+                    flush(key, session);
+                } catch (IOException e) {
+                    if (key != null) {
+                        close(key);
+                    } else {
+                        discard(channel);
+                    }
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) throws IOException {
+            Session session = (Session) key.attachment();
+            SocketChannel channel = (SocketChannel) key.channel();
+
+            if (key.isWritable()) {
+                flush(key, session);
+            }
+
+            if (!key.isValid() || !key.isReadable() || session.output.hasRemaining()) {
+                return;
+            }
+
+            session.input.clear();
+
+            if (channel.read(session.input) < 0) {
+                close(key);
+                return;
+            }
+
+            session.input.flip();
+            Action[] actions = Action.values();
+
+            while (session.input.hasRemaining()) {
+                int code = session.input.get();
+
+                if (code >= 0 && code < actions.length) {
+                    session.tetris.apply(actions[code]);
+                }
+            }
+
+            encode(session);
+            flush(key, session);
+        }
+
+        private void encode(Session session) {
+            Tetris tetris = session.tetris;
+            BitBoard board = (BitBoard) tetris.getBoard();
+            ByteBuffer output = session.output;
+
+            output.clear();
+            output.putInt(output.capacity() - 4);
+            output.putInt(tetris.getScore());
+            output.putInt(tetris.getLineCount());
+            output.putInt(tetris.getPieceCount());
+            output.put((byte) (tetris.isGameOver() ? 1 : 0));
+            output.put((byte) width);
+            output.putShort((short) height);
+
+            for (int y = 0; y < height; y++) {
+                output.putLong(board.getRow(y));
+            }
+
+            output.flip();
+        }
+
+        private void flush(SelectionKey key, Session session) throws IOException {
+            ((SocketChannel) key.channel()).write(session.output);
+
+            if (session.output.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void close(SelectionKey key) {
+            if (!key.channel().isOpen()) {
+                return;
+            }
+
+            key.cancel();
+            sessions.decrementAndGet();
+            discard(key.channel());
+        }
+
+        private void discard(Channel channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The peer is already gone.
+            }
+        }
+    }
+}
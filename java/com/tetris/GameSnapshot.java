@@ -0,0 +1,109 @@
+package com.tetris;
+
+
+public class GameSnapshot implements BoardView {
+    private final long sequence;
+    private final int width;
+    private final int height;
+    private final int rows;
+    private final byte[] cells;
+    private final long hash;
+    private final int score;
+    private final int lineCount;
+    private final int pieceCount;
+    private final boolean gameOver;
+
+    private GameSnapshot(long sequence, Tetris tetris) {
+        Board board = tetris.getBoard();
+        int top = 0;
+
+        for (int height : board.getHeights()) {
+            top = Math.max(top, height);
+        }
+
+        this.sequence = sequence;
+        width = board.getWidth();
+        height = board.getHeight();
+        rows = top;
+        cells = new byte[width * top];
+        hash = board.getHash();
+        score = tetris.getScore();
+        lineCount = tetris.getLineCount();
+        pieceCount = tetris.getPieceCount();
+        gameOver = tetris.isGameOver();
+
+        for (int y = 0; y < top; y++) {
+            for (int x = 0; x < width; x++) {
+                cells[y * width + x] = (byte) board.getCell(x, y);
+            }
+        }
+    }
+
+    public static GameSnapshot of(Tetris tetris, long sequence) {
+        return new GameSnapshot(sequence, tetris);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isFilled(int x, int y) {
+        return getCell(x, y) != '.';
+    }
+
+    public char getCell(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new RuntimeException("Cell out of bounds (" + x + ", " + y + ")");
+        }
+
+        return y < rows ? (char) cells[y * width + x] : '.';
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder(width * height * 2);
+
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = 0; x < width; x++) {
+                sb.append(getCell(x, y));
+
+                if (x < width - 1) {
+                    sb.append(' ');
+                }
+            }
+
+            if (y != 0) {
+                sb.append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.tetris;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class GarbageQueue {
+    private int[] entries;
+    private int mask;
+    private AtomicLong head = new AtomicLong();
+    private AtomicLong tail = new AtomicLong();
+    private long cachedHead = 0;
+    private long cachedTail = 0;
+
+    public GarbageQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        entries = new int[size];
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public boolean offer(int rows) {
+        long position = tail.getPlain();
+
+        if (position - cachedHead == entries.length) {
+            cachedHead = head.getAcquire();
+
+            if (position - cachedHead == entries.length) {
+                return false;
+            }
+        }
+
+        entries[(int) position & mask] = rows;
+        tail.setRelease(position + 1);
+        return true;
+    }
+
+    public int poll() {
+        long position = head.getPlain();
+
+        if (position == cachedTail) {
+            cachedTail = tail.getAcquire();
+
+            if (position == cachedTail) {
+                return 0;
+            }
+        }
+
+        int rows = entries[(int) position & mask];
+        head.setRelease(position + 1);
+        return rows;
+    }
+
+    public int peek() {
+        long position = head.getPlain();
+
+        if (position == cachedTail) {
+            cachedTail = tail.getAcquire();
+
+            if (position == cachedTail) {
+                return 0;
+            }
+        }
+
+        return entries[(int) position & mask];
+    }
+}
@@ -20,23 +20,23 @@ public class Grid {
     }
 
     public String toString() {
-        String ret = "";
+        StringBuilder ret = new StringBuilder(width * height * 2);
 
         for (int y = height - 1; y>= 0; y--) {
             for (int x = 0; x < width; x++) {
-                ret += matrix[x][y];
+                ret.append(matrix[x][y]);
 
                 if (x < width - 1) {
-                    ret += " ";
+                    ret.append(' ');
                 }
             }
 
             if (y != 0) {
-                ret += "\n";
+                ret.append('\n');
             }
         }
 
-        return ret;
+        return ret.toString();
     }
 
     public Grid(int width, int height) {
@@ -103,6 +103,23 @@ public class Grid {
         matrix[x][y] = value;
     }
 
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof Grid)) {
+            return false;
+        }
+
+        Grid grid = (Grid) other;
+        return width == grid.width && height == grid.height && Arrays.deepEquals(matrix, grid.matrix);
+    }
+
+    public int hashCode() {
+        return Arrays.deepHashCode(matrix);
+    }
+
     public Grid clone() {
         Grid newGrid = new Grid(width, height);
 
@@ -0,0 +1,397 @@
+package com.tetris;
+
+import java.util.Arrays;
+
+
+public class GridBoard implements Board {
+    private static final String GARBAGE = "#";
+
+    private Grid grid;
+    private int width;
+    private int height;
+    private int[] widths;
+    private int[] heights;
+    private Grid xGrid;
+    private int[] xWidths;
+    private int[] xHeights;
+    private Features features;
+    private boolean isCommitted = true;
+    private int largestRow = 0;
+    private int xLargestRow = 0;
+    private long hash = 0;
+    private long xHash = 0;
+
+    private boolean journaled;
+    private int[] journalCells = new int[8];
+    private int[] journalHeights = new int[4];
+    private int journalSize = 0;
+    private String[] journalRows;
+    private int journalRowFrom = -1;
+    private int journalRowTo = -1;
+    private int journalLargestRow = 0;
+
+    public GridBoard(int width, int height) {
+        this(width, height, false);
+    }
+
+    public GridBoard(int width, int height, boolean journaled) {
+        this.width = width;
+        this.height = height;
+        this.journaled = journaled;
+        grid = new Grid(width, height);
+        widths = new int[height];
+        heights = new int[width];
+        xGrid = new Grid(width, height);
+        xWidths = new int[height];
+        xHeights = new int[width];
+        features = new Features(this);
+    }
+
+    public boolean isJournaled() {
+        return journaled;
+    }
+
+    private void journalCell(int x, int y) {
+        if (journalSize == journalHeights.length) {
+            journalCells = Arrays.copyOf(journalCells, journalSize * 4);
+            journalHeights = Arrays.copyOf(journalHeights, journalSize * 2);
+        }
+
+        journalCells[2 * journalSize] = x;
+        journalCells[2 * journalSize + 1] = y;
+        journalHeights[journalSize] = heights[x];
+        journalSize += 1;
+    }
+
+    private void journalRows(int from, int to) {
+        if (Metrics.ENABLED) {
+            Metrics.backup();
+        }
+
+        if (journalRows == null) {
+            journalRows = new String[width * height];
+        }
+
+        String[][] matrix = grid.getMatrix();
+
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(matrix[x], from, journalRows, x * height + from, to - from);
+        }
+
+        System.arraycopy(widths, from, xWidths, from, to - from);
+        System.arraycopy(heights, 0, xHeights, 0, width);
+        journalRowFrom = from;
+        journalRowTo = to;
+        journalLargestRow = largestRow;
+    }
+
+    private void rollback() {
+        if (journalRowFrom >= 0) {
+            String[][] matrix = grid.getMatrix();
+            int from = journalRowFrom;
+            int to = journalRowTo;
+
+            for (int x = 0; x < width; x++) {
+                System.arraycopy(journalRows, x * height + from, matrix[x], from, to - from);
+            }
+
+            System.arraycopy(xWidths, from, widths, from, to - from);
+            System.arraycopy(xHeights, 0, heights, 0, width);
+            largestRow = journalLargestRow;
+            journalRowFrom = -1;
+        }
+
+        for (int i = journalSize - 1; i >= 0; i--) {
+            int x = journalCells[2 * i];
+            int y = journalCells[2 * i + 1];
+
+            grid.setCell(x, y, grid.emptyCell);
+            widths[y] -= 1;
+            heights[x] = journalHeights[i];
+        }
+
+        journalSize = 0;
+        largestRow = xLargestRow;
+    }
+
+    private void backup() {
+        if (Metrics.ENABLED) {
+            Metrics.backup();
+        }
+
+        xGrid = grid.clone();
+        xWidths = Arrays.copyOf(widths, widths.length);
+        xHeights = Arrays.copyOf(heights, heights.length);
+        xLargestRow = largestRow;
+    }
+
+    public String toString() {
+        return grid.toString();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int[] getHeights() {
+        return heights;
+    }
+
+    public int[] getWidths() {
+        return widths;
+    }
+
+    public boolean isFilled(int x, int y) {
+        return grid.getCell(x, y) != grid.emptyCell;
+    }
+
+    public char getCell(int x, int y) {
+        return grid.getCell(x, y).charAt(0);
+    }
+
+    public Features getFeatures() {
+        return features;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public void commit() {
+        this.isCommitted = true;
+    }
+
+    public void commit(boolean isCommitted) {
+        this.isCommitted = isCommitted;
+    }
+
+    public void undo() {
+        if (Metrics.ENABLED) {
+            Metrics.undo();
+        }
+
+        if (journaled) {
+            rollback();
+        } else {
+            grid = xGrid;
+            widths = xWidths;
+            heights = xHeights;
+            largestRow = xLargestRow;
+        }
+
+        hash = xHash;
+        features.rollback();
+        commit();
+    }
+
+    public int dropHeight(Piece piece, int x) {
+        if (!Metrics.ENABLED) {
+            return landingHeight(piece, x);
+        }
+
+        long start = System.nanoTime();
+        int y = landingHeight(piece, x);
+        Metrics.DROP_HEIGHT.record(System.nanoTime() - start);
+        return y;
+    }
+
+    public Message insert(Piece piece, int x, int y) {
+        if (!Metrics.ENABLED) {
+            return place(piece, x, y);
+        }
+
+        long start = System.nanoTime();
+        Message message = place(piece, x, y);
+        Metrics.insert(message, System.nanoTime() - start);
+        return message;
+    }
+
+    public int clearRows() {
+        if (!Metrics.ENABLED) {
+            return compact();
+        }
+
+        long start = System.nanoTime();
+        int lines = compact();
+        Metrics.clearRows(lines, System.nanoTime() - start);
+        return lines;
+    }
+
+    private int landingHeight(Piece piece, int x) {
+        return DropTable.dropHeight(piece.getIndex(), heights, x);
+    }
+
+    private Message place(Piece piece, int x, int y) {
+        if (!isCommitted) {
+            throw new RuntimeException("Previous round has not been committed");
+        }
+
+        commit(false);
+        features.begin();
+        xHash = hash;
+
+        if (journaled) {
+            journalSize = 0;
+            journalRowFrom = -1;
+            xLargestRow = largestRow;
+        } else {
+            backup();
+        }
+
+        int index = piece.getIndex();
+        String color = PieceTable.label(piece.getShape());
+
+        for (int i = 0; i < PieceTable.CELLS; i++) {
+            int pX = x + PieceTable.cellX(index, i);
+            int pY = y + PieceTable.cellY(index, i);
+
+            if (0 > pX || pX >= width || 0 > pY || pY >= height) {
+                return Message.PLACE_OUT_BOUNDS;
+            }
+
+            if (grid.getCell(pX, pY) != grid.emptyCell) {
+                return Message.PLACE_BAD;
+            }
+
+            if (journaled) {
+                journalCell(pX, pY);
+            }
+
+            widths[pY] += 1;
+            heights[pX] = Math.max(heights[pX], pY + 1);
+            largestRow = Math.max(largestRow, pY + 1);
+
+            grid.set(pX, pY, color);
+            hash ^= Zobrist.key(pX, pY);
+        }
+
+        features.update(index, x, y);
+
+        return Message.PLACE_OK;
+    }
+
+    private void recomputeHeights() {
+        String[][] matrix = grid.getMatrix();
+
+        for (int x = 0; x < width; x++) {
+            int y = largestRow;
+
+            while (y > 0 && matrix[x][y - 1] == grid.emptyCell) {
+                y -= 1;
+            }
+
+            heights[x] = y;
+        }
+    }
+
+    public Message insertGarbage(int count, int holeX) {
+        if (!isCommitted) {
+            throw new RuntimeException("Previous round has not been committed");
+        }
+
+        if (count <= 0) {
+            return Message.PLACE_OK;
+        }
+
+        if (holeX < 0 || holeX >= width || largestRow + count > height) {
+            return Message.PLACE_OUT_BOUNDS;
+        }
+
+        String[][] matrix = grid.getMatrix();
+
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(matrix[x], 0, matrix[x], count, largestRow);
+            Arrays.fill(matrix[x], 0, count, x == holeX ? grid.emptyCell : GARBAGE);
+        }
+
+        System.arraycopy(widths, 0, widths, count, largestRow);
+        Arrays.fill(widths, 0, count, width - 1);
+        largestRow += count;
+        recomputeHeights();
+        hash = 0;
+
+        for (int y = 0; y < largestRow; y++) {
+            hash ^= rowHash(matrix, y);
+        }
+
+        features.insertGarbage(count, holeX);
+        xHash = hash;
+        xLargestRow = largestRow;
+
+        if (journaled) {
+            journalSize = 0;
+            journalRowFrom = -1;
+        } else {
+            backup();
+        }
+
+        return Message.PLACE_OK;
+    }
+
+    private long rowHash(String[][] matrix, int y) {
+        long row = 0;
+
+        for (int x = 0; x < width; x++) {
+            if (matrix[x][y] != grid.emptyCell) {
+                row ^= Zobrist.key(x, y);
+            }
+        }
+
+        return row;
+    }
+
+    private int compact() {
+        int top = largestRow;
+        int first = 0;
+
+        while (first < top && widths[first] != width) {
+            first += 1;
+        }
+
+        if (first == top) {
+            return 0;
+        }
+
+        if (journaled && !isCommitted) {
+            journalRows(first, top);
+        }
+
+        features.clearRows(first, top);
+
+        String[][] matrix = grid.getMatrix();
+        int write = first;
+
+        for (int y = first; y < top; y++) {
+            hash ^= rowHash(matrix, y);
+
+            if (widths[y] == width) {
+                continue;
+            }
+
+            if (write != y) {
+                for (int x = 0; x < width; x++) {
+                    matrix[x][write] = matrix[x][y];
+                }
+
+                widths[write] = widths[y];
+            }
+
+            hash ^= rowHash(matrix, write);
+            write += 1;
+        }
+
+        for (int x = 0; x < width; x++) {
+            Arrays.fill(matrix[x], write, top, grid.emptyCell);
+        }
+
+        Arrays.fill(widths, write, top, 0);
+        largestRow = write;
+        recomputeHeights();
+
+        return top - write;
+    }
+}
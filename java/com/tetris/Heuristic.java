@@ -0,0 +1,6 @@
+package com.tetris;
+
+
+public interface Heuristic {
+    double evaluate(Board board, int linesCleared);
+}
@@ -0,0 +1,48 @@
+package com.tetris;
+
+import java.util.Arrays;
+
+
+public class HistoryRandomizer implements Randomizer {
+    private SplitMix64 random;
+    private int[] history;
+    private int position;
+    private int rolls;
+
+    public HistoryRandomizer(SplitMix64 random) {
+        this(random, 4, 6);
+    }
+
+    public HistoryRandomizer(SplitMix64 random, int historySize, int rolls) {
+        if (historySize < 1 || rolls < 1) {
+            throw new RuntimeException("History size and rolls must be positive");
+        }
+
+        this.random = random;
+        this.rolls = rolls;
+        history = new int[historySize];
+        Arrays.fill(history, -1);
+    }
+
+    public int next() {
+        int shape = random.nextInt(PieceTable.SHAPES);
+
+        for (int roll = 1; roll < rolls && contains(shape); roll++) {
+            shape = random.nextInt(PieceTable.SHAPES);
+        }
+
+        history[position] = shape;
+        position = (position + 1) % history.length;
+        return shape;
+    }
+
+    private boolean contains(int shape) {
+        for (int i = 0; i < history.length; i++) {
+            if (history[i] == shape) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
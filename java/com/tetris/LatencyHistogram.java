@@ -0,0 +1,91 @@
+package com.tetris;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private LongAdder[] buckets = new LongAdder[BUCKETS];
+    private LongAdder count = new LongAdder();
+    private LongAdder sum = new LongAdder();
+    private LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        buckets[BUCKETS - 1 - Long.numberOfLeadingZeros(nanos | 1)].increment();
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long[] getBuckets() {
+        long[] values = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            values[i] = buckets[i].sum();
+        }
+
+        return values;
+    }
+
+    public long getPercentile(double quantile) {
+        long[] values = getBuckets();
+        long total = 0;
+
+        for (long value : values) {
+            total += value;
+        }
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += values[i];
+
+            if (seen >= rank && seen > 0) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (2L << i) - 1;
+            }
+        }
+
+        return 0;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    public void export(String name, Map<String, Long> values) {
+        values.put(name + ".count", getCount());
+        values.put(name + ".nanos", getSum());
+        values.put(name + ".max", getMax());
+        values.put(name + ".p50", getPercentile(0.5));
+        values.put(name + ".p99", getPercentile(0.99));
+    }
+}
@@ -1,8 +1,170 @@
 package com.tetris;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (Metrics.ENABLED) {
+            Metrics.register();
+        }
+
+        if (args.length > 0 && args[0].equals("simulate")) {
+            simulate(args);
+            return;
+        }
+
+        if (args.length > 1 && args[0].equals("replay")) {
+            replay(args[1]);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("realtime")) {
+            int framesPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+            new Game().runRealtime(framesPerSecond);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("tune")) {
+            tune(args);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("versus")) {
+            versus(args);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("leaderboard")) {
+            leaderboard(args.length > 1 ? args[1] : Game.HISTORY);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("server")) {
+            serve(args);
+            return;
+        }
+
         Game game = new Game();
         game.run();
     }
+
+    private static void simulate(String[] args) {
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int maxPieces = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+        boolean useBot = args.length > 4 && args[4].equals("bot");
+        int width = args.length > 5 ? Integer.parseInt(args[5]) : Tetris.BOARD_WIDTH;
+        int height = args.length > 6 ? Integer.parseInt(args[6]) : Tetris.BOARD_HEIGHT;
+        int depth = args.length > 7 ? Integer.parseInt(args[7]) : 1;
+        WeightedHeuristic heuristic = new WeightedHeuristic();
+        TranspositionTable table = new TranspositionTable(1 << 20);
+        Simulator simulator = new Simulator(
+            () -> new BitBoard(width, height),
+            s -> useBot ? new Bot(heuristic, depth, ForkJoinPool.commonPool(), table) : new RandomPolicy(s),
+            maxPieces
+        );
+
+        System.out.println(simulator.run(games, seed));
+
+        if (Metrics.ENABLED) {
+            Metrics.snapshot().forEach((name, value) -> System.out.println(name + " = " + value));
+        }
+    }
+
+    private static void serve(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7777;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(Tetris.BOARD_WIDTH, Tetris.BOARD_HEIGHT);
+
+        System.out.println("Listening on port " + server.start(port, workers));
+
+        while (true) {
+            Thread.sleep(10000);
+            System.out.println(server.getSessionCount() + " sessions");
+        }
+    }
+
+    private static void tune(String[] args) throws IOException {
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Path checkpoint = Paths.get(args.length > 2 ? args[2] : "tetris-tuner.bin");
+        int population = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int games = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+        int maxPieces = args.length > 5 ? Integer.parseInt(args[5]) : 1000;
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 0;
+        WeightTuner tuner = Files.exists(checkpoint)
+            ? WeightTuner.load(checkpoint, ForkJoinPool.commonPool())
+            : new WeightTuner(population, Math.max(1, population / 10), games, maxPieces, seed);
+
+        System.out.println(tuner);
+
+        while (tuner.getGeneration() < generations) {
+            tuner.step();
+            tuner.save(checkpoint);
+            System.out.println(tuner + " weights=" + Arrays.toString(tuner.getBestWeights()));
+        }
+    }
+
+    private static void versus(String[] args) {
+        int matches = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int maxPieces = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+        WeightedHeuristic heuristic = new WeightedHeuristic();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        TranspositionTable table = new TranspositionTable(1 << 16);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < matches; i++) {
+            VersusMatch match = new VersusMatch(
+                () -> new BitBoard(Tetris.BOARD_WIDTH, Tetris.BOARD_HEIGHT),
+                s -> new Bot(heuristic, 1, pool, table),
+                2,
+                SplitMix64.stream(seed, i),
+                maxPieces
+            );
+            results.add(match.play(pool));
+        }
+
+        int[] wins = new int[3];
+
+        for (CompletableFuture<Integer> result : results) {
+            wins[result.join() + 1] += 1;
+        }
+
+        System.out.println("player 0: " + wins[1] + " player 1: " + wins[2] + " draws: " + wins[0]
+            + " in " + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    private static void leaderboard(String path) throws IOException {
+        if (!Files.exists(Paths.get(path))) {
+            System.out.println("0 games");
+            return;
+        }
+
+        try (GameHistoryStore store = new GameHistoryStore(Paths.get(path), Game.LEADERBOARD_SIZE, Game.RETAINED_GAMES)) {
+            System.out.println(store.size() + " games");
+
+            for (GameRecord record : store.top(Game.LEADERBOARD_SIZE)) {
+                System.out.println(record);
+            }
+        }
+    }
+
+    private static void replay(String path) throws IOException {
+        long start = System.nanoTime();
+        long count = ReplayArchive.forEach(Paths.get(path), replay -> {
+            Tetris tetris = replay.play();
+            System.out.println("seed=" + replay.getSeed() + " pieces=" + tetris.getPieceCount() + " score=" + tetris.getScore());
+        });
+
+        System.out.println(count + " replays in " + (System.nanoTime() - start) / 1000000 + " ms");
+    }
 }
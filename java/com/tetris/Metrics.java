@@ -0,0 +1,129 @@
+package com.tetris;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+
+public class Metrics implements MetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("tetris.metrics");
+    public static final String OBJECT_NAME = "com.tetris:type=Metrics";
+
+    private static final Message[] MESSAGES = Message.values();
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final LongAdder[] PLACEMENTS = new LongAdder[MESSAGES.length];
+    private static final LongAdder[] EVENTS = new LongAdder[EVENT_TYPES.length];
+    private static final LongAdder UNDOS = new LongAdder();
+    private static final LongAdder ROWS_CLEARED = new LongAdder();
+    private static final LongAdder BACKUPS = new LongAdder();
+
+    public static final LatencyHistogram INSERT = new LatencyHistogram();
+    public static final LatencyHistogram CLEAR_ROWS = new LatencyHistogram();
+    public static final LatencyHistogram DROP_HEIGHT = new LatencyHistogram();
+    public static final LatencyHistogram MOVE = new LatencyHistogram();
+    public static final LatencyHistogram ROTATE = new LatencyHistogram();
+    public static final LatencyHistogram HARD_DROP = new LatencyHistogram();
+    public static final LatencyHistogram TICK = new LatencyHistogram();
+
+    public static final GameEventListener EVENT_COUNTER = (event, endOfBatch) -> EVENTS[event.getType().ordinal()].increment();
+
+    static {
+        for (int i = 0; i < PLACEMENTS.length; i++) {
+            PLACEMENTS[i] = new LongAdder();
+        }
+
+        for (int i = 0; i < EVENTS.length; i++) {
+            EVENTS[i] = new LongAdder();
+        }
+    }
+
+    private Metrics() {}
+
+    public static void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Metrics(), name);
+            }
+        } catch (JMException e) {
+            throw new RuntimeException("Cannot register metrics", e);
+        }
+    }
+
+    static void insert(Message message, long nanos) {
+        PLACEMENTS[message.ordinal()].increment();
+        INSERT.record(nanos);
+    }
+
+    static void undo() {
+        UNDOS.increment();
+    }
+
+    static void clearRows(int lines, long nanos) {
+        ROWS_CLEARED.add(lines);
+        CLEAR_ROWS.record(nanos);
+    }
+
+    static void backup() {
+        BACKUPS.increment();
+    }
+
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new TreeMap<>();
+
+        for (int i = 0; i < MESSAGES.length; i++) {
+            values.put("placements." + MESSAGES[i], PLACEMENTS[i].sum());
+        }
+
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            values.put("events." + EVENT_TYPES[i], EVENTS[i].sum());
+        }
+
+        values.put("undos", UNDOS.sum());
+        values.put("rows.cleared", ROWS_CLEARED.sum());
+        values.put("backups", BACKUPS.sum());
+        INSERT.export("insert", values);
+        CLEAR_ROWS.export("clearRows", values);
+        DROP_HEIGHT.export("dropHeight", values);
+        MOVE.export("move", values);
+        ROTATE.export("rotate", values);
+        HARD_DROP.export("hardDrop", values);
+        TICK.export("tick", values);
+
+        return values;
+    }
+
+    public static void resetAll() {
+        for (LongAdder placements : PLACEMENTS) {
+            placements.reset();
+        }
+
+        for (LongAdder events : EVENTS) {
+            events.reset();
+        }
+
+        UNDOS.reset();
+        ROWS_CLEARED.reset();
+        BACKUPS.reset();
+
+        for (LatencyHistogram histogram : new LatencyHistogram[] {INSERT, CLEAR_ROWS, DROP_HEIGHT, MOVE, ROTATE, HARD_DROP, TICK}) {
+            histogram.reset();
+        }
+    }
+
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public Map<String, Long> getValues() {
+        return snapshot();
+    }
+
+    public void reset() {
+        resetAll();
+    }
+}
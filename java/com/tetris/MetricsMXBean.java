@@ -0,0 +1,12 @@
+package com.tetris;
+
+import java.util.Map;
+
+
+public interface MetricsMXBean {
+    boolean isEnabled();
+
+    Map<String, Long> getValues();
+
+    void reset();
+}
@@ -0,0 +1,237 @@
+package com.tetris;
+
+import java.util.Arrays;
+
+
+public class MoveGenerator {
+    private static final int MAX_ROTATIONS = PieceTable.MAX_ROTATIONS;
+    private static final int HEADROOM = 4;
+    private static final int INITIAL_PLACEMENTS = 256;
+
+    private int width;
+    private int height;
+    private long[] rows;
+    private int stackHeight;
+
+    private int shape;
+
+    private long[] visited;
+    private int[] queue;
+    private int[] placements = new int[INITIAL_PLACEMENTS];
+
+    public MoveGenerator(int width, int height) {
+        this.width = width;
+        this.height = height;
+        rows = new long[height];
+        visited = new long[(MAX_ROTATIONS * width * height + 63) / 64];
+        queue = new int[MAX_ROTATIONS * width * height];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long[] getRows() {
+        return rows;
+    }
+
+    public void load(Board board) {
+        if (board.getWidth() != width || board.getHeight() != height) {
+            throw new RuntimeException("Board size does not match generator");
+        }
+
+        if (board instanceof BitBoard) {
+            BitBoard bitBoard = (BitBoard) board;
+
+            for (int y = 0; y < height; y++) {
+                rows[y] = bitBoard.getRow(y);
+            }
+        } else {
+            for (int y = 0; y < height; y++) {
+                long row = 0;
+
+                for (int x = 0; x < width; x++) {
+                    if (board.isFilled(x, y)) {
+                        row |= 1L << x;
+                    }
+                }
+
+                rows[y] = row;
+            }
+        }
+
+        updateStackHeight();
+    }
+
+    public void load(long[] source, int count) {
+        System.arraycopy(source, 0, rows, 0, count);
+        Arrays.fill(rows, count, height, 0L);
+        updateStackHeight();
+    }
+
+    public void load(Tetris tetris) {
+        load(tetris.getBoard());
+        Piece piece = tetris.getCurrentPiece();
+
+        if (piece != null && !tetris.isGameOver()) {
+            int index = piece.getIndex();
+
+            for (int i = 0; i < PieceTable.height(index); i++) {
+                rows[tetris.getCurrentY() + i] &= ~(PieceTable.mask(index, i) << tetris.getCurrentX());
+            }
+
+            updateStackHeight();
+        }
+    }
+
+    private void updateStackHeight() {
+        int y = height;
+
+        while (y > 0 && rows[y - 1] == 0) {
+            y -= 1;
+        }
+
+        stackHeight = y;
+    }
+
+    public Piece getPiece(int placement) {
+        return Piece.of(PieceTable.index(shape, Placement.rotation(placement)));
+    }
+
+    public boolean fits(int rotation, int x, int y) {
+        int index = PieceTable.index(shape, rotation);
+
+        if (x < 0 || y < 0 || x + PieceTable.width(index) > width || y + PieceTable.height(index) > height) {
+            return false;
+        }
+
+        if (y >= stackHeight) {
+            return true;
+        }
+
+        for (int i = 0; i < PieceTable.height(index); i++) {
+            if ((rows[y + i] & PieceTable.mask(index, i) << x) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int rotate(int state, int dir) {
+        int current = PieceTable.index(shape, Placement.rotation(state));
+        int rotated = PieceTable.rotate(current, dir);
+        int x = Placement.x(state) + (PieceTable.width(current) - PieceTable.width(rotated)) / 2;
+        int y = Placement.y(state) + PieceTable.height(current) - PieceTable.height(rotated);
+        int rotation = PieceTable.rotation(rotated);
+
+        if (!fits(rotation, x, y)) {
+            return -1;
+        }
+
+        return Placement.encode(rotation, x, y);
+    }
+
+    private boolean visit(int state) {
+        int index = (Placement.rotation(state) * height + Placement.y(state)) * width + Placement.x(state);
+        long bit = 1L << index;
+
+        if ((visited[index >>> 6] & bit) != 0) {
+            return false;
+        }
+
+        visited[index >>> 6] |= bit;
+        return true;
+    }
+
+    public int[] getPlacements() {
+        return placements;
+    }
+
+    public int generate(Piece piece, int x, int y, int[] out) {
+        int count = generate(piece, x, y);
+
+        if (count > out.length) {
+            throw new RuntimeException("Placement buffer holds " + out.length + " of " + count + " placements");
+        }
+
+        System.arraycopy(placements, 0, out, 0, count);
+        return count;
+    }
+
+    public int generate(Piece piece, int x, int y) {
+        shape = piece.getShape();
+        Arrays.fill(visited, 0L);
+
+        int startY = Math.min(y, stackHeight + HEADROOM);
+
+        if (!fits(piece.getRotation(), x, startY)) {
+            return 0;
+        }
+
+        int head = 0;
+        int tail = 0;
+        int count = 0;
+        int start = Placement.encode(piece.getRotation(), x, startY);
+
+        visit(start);
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int state = queue[head++];
+            int rotation = Placement.rotation(state);
+            int sx = Placement.x(state);
+            int sy = Placement.y(state);
+
+            if (sy > 0 && fits(rotation, sx, sy - 1)) {
+                int down = Placement.encode(rotation, sx, sy - 1);
+
+                if (visit(down)) {
+                    queue[tail++] = down;
+                }
+            } else {
+                if (count == placements.length) {
+                    placements = Arrays.copyOf(placements, Math.min(2 * count, queue.length));
+                }
+
+                placements[count++] = state;
+            }
+
+            if (fits(rotation, sx - 1, sy)) {
+                int left = Placement.encode(rotation, sx - 1, sy);
+
+                if (visit(left)) {
+                    queue[tail++] = left;
+                }
+            }
+
+            if (fits(rotation, sx + 1, sy)) {
+                int right = Placement.encode(rotation, sx + 1, sy);
+
+                if (visit(right)) {
+                    queue[tail++] = right;
+                }
+            }
+
+            if (PieceTable.rotations(shape) > 1) {
+                int cw = rotate(state, 1);
+
+                if (cw >= 0 && visit(cw)) {
+                    queue[tail++] = cw;
+                }
+
+                int ccw = rotate(state, -1);
+
+                if (ccw >= 0 && visit(ccw)) {
+                    queue[tail++] = ccw;
+                }
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,359 @@
+package com.tetris;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public class PerfectClearSolver {
+    private int width;
+    private int height;
+    private long fullRow;
+    private ForkJoinPool pool;
+    private PositionCache cache;
+    private AtomicLong generation = new AtomicLong();
+    private ConcurrentLinkedQueue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    public PerfectClearSolver(int width, int height) {
+        this(width, height, ForkJoinPool.commonPool(), new PositionCache(1 << 20));
+    }
+
+    public PerfectClearSolver(int width, int height, ForkJoinPool pool, PositionCache cache) {
+        if (width > 64) {
+            throw new RuntimeException("Solver supports at most 64 columns");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.fullRow = width == 64 ? -1L : (1L << width) - 1;
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    public SolverResult solve(Board board, Piece[] sequence, int maxPieces) {
+        return solve(rows(board), sequence, maxPieces, false);
+    }
+
+    public SolverResult findPerfectClear(Board board, Piece[] sequence, int maxPieces) {
+        return solve(rows(board), sequence, maxPieces, true);
+    }
+
+    private long[] rows(Board board) {
+        MoveGenerator generator = new MoveGenerator(width, height);
+        generator.load(board);
+        return generator.getRows();
+    }
+
+    public SolverResult solve(long[] rows, Piece[] sequence, int maxPieces, boolean perfectOnly) {
+        int limit = Math.min(maxPieces, sequence.length);
+        int filled = 0;
+
+        for (int y = 0; y < height; y++) {
+            filled += Long.bitCount(rows[y]);
+        }
+
+        Search search = new Search(rows, sequence, filled, generation.incrementAndGet());
+
+        if (limit <= 0) {
+            return search.result();
+        }
+
+        for (int depth = 1; depth <= limit; depth++) {
+            if ((filled + PieceTable.CELLS * depth) % width != 0) {
+                continue;
+            }
+
+            search.run(depth, true);
+
+            if (search.found) {
+                return search.result();
+            }
+        }
+
+        if (!perfectOnly) {
+            search.run(limit, false);
+        }
+
+        return search.result();
+    }
+
+    private Workspace borrow(int depth) {
+        Workspace workspace = workspaces.poll();
+
+        if (workspace == null || workspace.rows.length <= depth) {
+            workspace = new Workspace(width, height, depth);
+        }
+
+        return workspace;
+    }
+
+    private int place(long[] source, long[] target, int shape, int placement) {
+        int index = PieceTable.index(shape, Placement.rotation(placement));
+        int x = Placement.x(placement);
+        int y = Placement.y(placement);
+
+        System.arraycopy(source, 0, target, 0, height);
+
+        for (int i = 0; i < PieceTable.height(index); i++) {
+            target[y + i] |= PieceTable.mask(index, i) << x;
+        }
+
+        int write = y;
+
+        for (int read = y; read < height; read++) {
+            if (target[read] != fullRow) {
+                target[write++] = target[read];
+            }
+        }
+
+        Arrays.fill(target, write, height, 0L);
+        return height - write;
+    }
+
+    private int stackHeight(long[] rows, int from) {
+        int y = Math.min(from, height);
+
+        while (y > 0 && rows[y - 1] == 0) {
+            y -= 1;
+        }
+
+        return y;
+    }
+
+    private boolean separable(long[] rows, int count) {
+        long walls = fullRow;
+
+        for (int y = 0; y < count; y++) {
+            walls &= rows[y];
+        }
+
+        int start = 0;
+
+        while (walls != 0) {
+            int x = Long.numberOfTrailingZeros(walls);
+            long region = (1L << x) - 1 & ~((1L << start) - 1);
+            int empty = 0;
+
+            for (int y = 0; y < count; y++) {
+                empty += Long.bitCount(region & ~rows[y]);
+            }
+
+            if (empty % PieceTable.CELLS != 0) {
+                return false;
+            }
+
+            start = x + 1;
+            walls &= walls - 1;
+        }
+
+        return true;
+    }
+
+    private static long hash(long[] rows, int stack, long salt) {
+        long hash = salt;
+
+        for (int y = 0; y < stack; y++) {
+            hash = SplitMix64.mix(hash ^ rows[y]);
+        }
+
+        return hash;
+    }
+
+    private static class Workspace {
+        long[][] rows;
+        int[] stacks;
+        int[] filled;
+        int[] path;
+        MoveGenerator[] generators;
+
+        Workspace(int width, int height, int depth) {
+            rows = new long[depth + 1][height];
+            stacks = new int[depth + 1];
+            filled = new int[depth + 1];
+            path = new int[depth];
+            generators = new MoveGenerator[depth];
+
+            for (int i = 0; i < depth; i++) {
+                generators[i] = new MoveGenerator(width, height);
+            }
+        }
+    }
+
+    private class Search {
+        long[] root;
+        Piece[] sequence;
+        int filled;
+        long salt;
+        LongAdder nodes = new LongAdder();
+
+        int limit;
+        boolean perfect;
+        long limitSalt;
+        int[] rootPlacements;
+        int rootCount;
+
+        volatile boolean found;
+        AtomicInteger bestLines = new AtomicInteger();
+        int[] bestPath = new int[0];
+
+        Search(long[] root, Piece[] sequence, int filled, long salt) {
+            this.root = root.clone();
+            this.sequence = sequence;
+            this.filled = filled;
+            this.salt = salt;
+        }
+
+        void run(int limit, boolean perfect) {
+            this.limit = limit;
+            this.perfect = perfect;
+            this.limitSalt = SplitMix64.mix(salt + SplitMix64.GAMMA * (perfect ? limit : -limit));
+
+            MoveGenerator generator = new MoveGenerator(width, height);
+            generator.load(root, height);
+            Piece piece = sequence[0];
+            rootCount = generator.generate(piece, (width - piece.getWidth()) / 2, height - piece.getHeight());
+            rootPlacements = generator.getPlacements();
+
+            if (rootCount > 0) {
+                pool.invoke(new RootTask(this, 0, rootCount));
+            }
+        }
+
+        synchronized void offer(int[] path, int count, int lines, boolean perfectClear) {
+            if (found) {
+                return;
+            }
+
+            if (perfectClear) {
+                found = true;
+            } else if (lines <= bestLines.get() && bestPath.length > 0) {
+                return;
+            }
+
+            bestLines.set(lines);
+            bestPath = Arrays.copyOf(path, count);
+        }
+
+        synchronized SolverResult result() {
+            Piece[] pieces = new Piece[bestPath.length];
+
+            for (int i = 0; i < bestPath.length; i++) {
+                pieces[i] = Piece.of(PieceTable.index(sequence[i].getShape(), Placement.rotation(bestPath[i])));
+            }
+
+            return new SolverResult(pieces, bestPath, bestLines.get(), found, nodes.sum());
+        }
+
+        void expand(Workspace workspace, int level, int placement, int lines) {
+            long[] source = workspace.rows[level];
+            long[] target = workspace.rows[level + 1];
+            int cleared = place(source, target, sequence[level].getShape(), placement);
+            int filledAfter = workspace.filled[level] + PieceTable.CELLS - cleared * width;
+            int top = Placement.y(placement) + PieceTable.MAX_SIZE;
+
+            workspace.path[level] = placement;
+            workspace.filled[level + 1] = filledAfter;
+            workspace.stacks[level + 1] = stackHeight(target, Math.max(workspace.stacks[level], top));
+            lines += cleared;
+
+            if (filledAfter == 0) {
+                offer(workspace.path, level + 1, lines, true);
+                return;
+            }
+
+            int remaining = limit - level - 1;
+
+            if (perfect) {
+                int rows = (filledAfter + PieceTable.CELLS * remaining) / width;
+
+                if (remaining == 0 || workspace.stacks[level + 1] > rows || !separable(target, rows)) {
+                    return;
+                }
+            } else {
+                if (lines > bestLines.get()) {
+                    offer(workspace.path, level + 1, lines, false);
+                }
+
+                if (remaining == 0 || lines + (filledAfter + PieceTable.CELLS * remaining) / width <= bestLines.get()) {
+                    return;
+                }
+            }
+
+            search(workspace, level + 1, lines);
+        }
+
+        void search(Workspace workspace, int level, int lines) {
+            if (found) {
+                return;
+            }
+
+            nodes.increment();
+            long[] rows = workspace.rows[level];
+            int stack = workspace.stacks[level];
+            long key = SplitMix64.mix(hash(rows, stack, limitSalt) + SplitMix64.GAMMA * level);
+            int seen = cache.get(key);
+
+            if (perfect ? seen >= 0 : seen >= lines) {
+                return;
+            }
+
+            Piece piece = sequence[level];
+            MoveGenerator generator = workspace.generators[level];
+
+            generator.load(rows, stack);
+            int count = generator.generate(piece, (width - piece.getWidth()) / 2, height - piece.getHeight());
+            int[] placements = generator.getPlacements();
+            Arrays.sort(placements, 0, count);
+
+            for (int i = 0; i < count && !found; i++) {
+                expand(workspace, level, placements[i], lines);
+            }
+
+            if (!found) {
+                cache.put(key, perfect ? 0 : lines);
+            }
+        }
+    }
+
+    private class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private Search search;
+        private int from;
+        private int to;
+
+        RootTask(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (search.found) {
+                return;
+            }
+
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RootTask(search, from, mid), new RootTask(search, mid, to));
+                return;
+            }
+
+            Workspace workspace = borrow(search.limit);
+
+            try {
+                System.arraycopy(search.root, 0, workspace.rows[0], 0, height);
+                workspace.stacks[0] = stackHeight(search.root, height);
+                workspace.filled[0] = search.filled;
+                search.nodes.increment();
+                search.expand(workspace, 0, search.rootPlacements[from], 0);
+            } finally {
+                workspaces.offer(workspace);
+            }
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.tetris;
 
 import java.lang.Math;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 
 public class Piece {
+    private static final Piece[] flyweights = new Piece[PieceTable.SIZE];
     public static Piece[] pieces = null;
     public static Map<String, Piece> dictionary = null;
 
+    static {
+        for (int shape = 0; shape < PieceTable.SHAPES; shape++) {
+            for (int rotation = 0; rotation < PieceTable.rotations(shape); rotation++) {
+                int index = PieceTable.index(shape, rotation);
+                flyweights[index] = new Piece(index);
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -21,29 +29,12 @@ public class Piece {
             return false;
         }
 
-        final Piece p = (Piece) other;
-        List<Point> a = Arrays.asList(this.body);
-        List<Point> b = Arrays.asList(p.body);
-
-        return a.containsAll(b);
+        return ((Piece) other).index == index;
     }
 
-    private static void addRotations(Piece root) {
-        Piece prev = root;
-
-        while (true) {
-            Piece next = prev.computeNextRotation();
-
-            if (next.equals(root)) {
-                root.prev = prev;
-                prev.next = root;
-                break;
-            } else {
-                next.prev = prev;
-                prev.next = next;
-                prev = next;
-            }
-        }
+    @Override
+    public int hashCode() {
+        return index;
     }
 
     public static void generatePieces() {
@@ -53,10 +44,8 @@ public class Piece {
             Map<String, Piece> dictionary = new HashMap<String, Piece>();
 
             for (int i = 0; i < values.length; i++) {
-                Shape s = values[i];
-                Piece piece = new Piece(s.body, s.pivot, s.color, s.name);
-                Piece.addRotations(piece);
-                dictionary.put(s.name, piece);
+                Piece piece = of(PieceTable.index(i, 0));
+                dictionary.put(values[i].name, piece);
                 pieces[i] = piece;
             }
 
@@ -73,8 +62,12 @@ public class Piece {
         return Piece.dictionary.get(s);
     }
 
+    public static Piece of(int index) {
+        return flyweights[index];
+    }
+
+    private int index;
     private Point[] body;
-    private double[] pivot;
     private String color;
     private String name;
 
@@ -82,48 +75,24 @@ public class Piece {
     private int height;
     private int[] skirt;
 
-    private Piece next = null;
-    private Piece prev = null;
-
-    public Piece(Point[] body, double[] pivot, String color, String name) {
-        this.body = body;
-        this.pivot = pivot;
-        this.color = color;
-        this.name = name;
-
-        for (int i = 0; i < body.length; i++) {
-            int x = body[i].getX();
-            int y = body[i].getY();
-
-            width = Math.max(x, width);
-            height = Math.max(y, height);
-        }
-
-        width += 1;
-        height += 1;
+    private Piece(int index) {
+        Shape shape = Shape.values()[PieceTable.shape(index)];
 
+        this.index = index;
+        this.color = shape.color;
+        this.name = shape.name;
+        width = PieceTable.width(index);
+        height = PieceTable.height(index);
+        body = new Point[PieceTable.CELLS];
         skirt = new int[width];
-        Arrays.fill(skirt, height - 1);
-        for (int i = 0; i < body.length; i++) {
-            int x = body[i].getX();
-            int y = body[i].getY();
-            skirt[x] = Math.min(skirt[x], y);
-        }
-    }
-
-    private Piece computeNextRotation() {
-        Point[] rotatedBody = new Point[body.length];
 
         for (int i = 0; i < body.length; i++) {
-            Point point = body[i];
-            int px = point.getX();
-            int py = point.getY();
-            int rx = height - 1 - py;
-            int ry = px;
-            rotatedBody[i] = new Point(rx, ry);
+            body[i] = new Point(PieceTable.cellX(index, i), PieceTable.cellY(index, i));
         }
 
-        return new Piece(rotatedBody, pivot, color, name);
+        for (int i = 0; i < width; i++) {
+            skirt[i] = PieceTable.skirt(index, i);
+        }
     }
 
     public String toString() {
@@ -180,13 +149,21 @@ public class Piece {
         return name;
     }
 
-    public Piece getRotated(int dir) {
-        if (dir == 1) {
-            return next;
-        }
+    public int getIndex() {
+        return index;
+    }
+
+    public int getShape() {
+        return PieceTable.shape(index);
+    }
 
-        if (dir == -1) {
-            return prev;
+    public int getRotation() {
+        return PieceTable.rotation(index);
+    }
+
+    public Piece getRotated(int dir) {
+        if (dir == 1 || dir == -1) {
+            return flyweights[PieceTable.rotate(index, dir)];
         }
 
         return this;
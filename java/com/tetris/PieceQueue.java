@@ -0,0 +1,44 @@
+package com.tetris;
+
+
+public class PieceQueue {
+    private Randomizer randomizer;
+    private int[] shapes;
+    private int mask;
+    private int head;
+    private int size;
+
+    public PieceQueue(Randomizer randomizer, int previewSize) {
+        if (previewSize < 1) {
+            throw new RuntimeException("Preview size must be at least 1");
+        }
+
+        this.randomizer = randomizer;
+        shapes = new int[Integer.highestOneBit(previewSize) << 1];
+        mask = shapes.length - 1;
+        size = previewSize;
+
+        for (int i = 0; i < size; i++) {
+            shapes[i] = randomizer.next();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Piece peek(int index) {
+        if (index < 0 || index >= size) {
+            throw new RuntimeException("Preview index out of range " + index);
+        }
+
+        return Piece.of(PieceTable.index(shapes[(head + index) & mask], 0));
+    }
+
+    public Piece poll() {
+        Piece piece = peek(0);
+        shapes[(head + size) & mask] = randomizer.next();
+        head = (head + 1) & mask;
+        return piece;
+    }
+}
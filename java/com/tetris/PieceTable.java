@@ -0,0 +1,162 @@
+package com.tetris;
+
+
+public class PieceTable {
+    public static final int MAX_ROTATIONS = 4;
+    public static final int MAX_SIZE = 4;
+    public static final int CELLS = 4;
+    public static final int SHAPES = Shape.values().length;
+    public static final int SIZE = SHAPES * MAX_ROTATIONS;
+
+    private static final int[] ROTATIONS = new int[SHAPES];
+    private static final String[] LABELS = new String[SHAPES];
+    private static final byte[] COLORS = new byte[SHAPES];
+    private static final int[] WIDTH = new int[SIZE];
+    private static final int[] HEIGHT = new int[SIZE];
+    private static final int[] CELL_X = new int[SIZE * CELLS];
+    private static final int[] CELL_Y = new int[SIZE * CELLS];
+    private static final int[] SKIRT = new int[SIZE * MAX_SIZE];
+    private static final int[] TOP = new int[SIZE * MAX_SIZE];
+    private static final long[] MASKS = new long[SIZE * MAX_SIZE];
+
+    static {
+        Shape[] shapes = Shape.values();
+
+        for (int shape = 0; shape < SHAPES; shape++) {
+            Point[] body = shapes[shape].body;
+            int[] xs = new int[CELLS];
+            int[] ys = new int[CELLS];
+
+            for (int i = 0; i < CELLS; i++) {
+                xs[i] = body[i].getX();
+                ys[i] = body[i].getY();
+            }
+
+            LABELS[shape] = shapes[shape].color.toUpperCase().intern();
+            COLORS[shape] = (byte) LABELS[shape].charAt(0);
+
+            int rotation = 0;
+
+            do {
+                fill(shape * MAX_ROTATIONS + rotation, xs, ys);
+                rotation += 1;
+
+                int height = HEIGHT[shape * MAX_ROTATIONS + rotation - 1];
+
+                for (int i = 0; i < CELLS; i++) {
+                    int x = xs[i];
+                    xs[i] = height - 1 - ys[i];
+                    ys[i] = x;
+                }
+            } while (rotation < MAX_ROTATIONS && !sameCells(shape * MAX_ROTATIONS, xs, ys));
+
+            ROTATIONS[shape] = rotation;
+        }
+    }
+
+    private PieceTable() {}
+
+    private static void fill(int index, int[] xs, int[] ys) {
+        int width = 0;
+        int height = 0;
+
+        for (int i = 0; i < CELLS; i++) {
+            width = Math.max(width, xs[i] + 1);
+            height = Math.max(height, ys[i] + 1);
+        }
+
+        WIDTH[index] = width;
+        HEIGHT[index] = height;
+
+        for (int c = 0; c < width; c++) {
+            SKIRT[index * MAX_SIZE + c] = height - 1;
+        }
+
+        for (int i = 0; i < CELLS; i++) {
+            int x = xs[i];
+            int y = ys[i];
+
+            CELL_X[index * CELLS + i] = x;
+            CELL_Y[index * CELLS + i] = y;
+            SKIRT[index * MAX_SIZE + x] = Math.min(SKIRT[index * MAX_SIZE + x], y);
+            TOP[index * MAX_SIZE + x] = Math.max(TOP[index * MAX_SIZE + x], y + 1);
+            MASKS[index * MAX_SIZE + y] |= 1L << x;
+        }
+    }
+
+    private static boolean sameCells(int index, int[] xs, int[] ys) {
+        long mask = 0;
+
+        for (int i = 0; i < CELLS; i++) {
+            mask |= 1L << (ys[i] * MAX_SIZE + xs[i]);
+        }
+
+        long other = 0;
+
+        for (int i = 0; i < CELLS; i++) {
+            other |= 1L << (CELL_Y[index * CELLS + i] * MAX_SIZE + CELL_X[index * CELLS + i]);
+        }
+
+        return mask == other;
+    }
+
+    public static int index(int shape, int rotation) {
+        return shape * MAX_ROTATIONS + rotation;
+    }
+
+    public static int shape(int index) {
+        return index / MAX_ROTATIONS;
+    }
+
+    public static int rotation(int index) {
+        return index % MAX_ROTATIONS;
+    }
+
+    public static int rotations(int shape) {
+        return ROTATIONS[shape];
+    }
+
+    public static int rotate(int index, int dir) {
+        int shape = index / MAX_ROTATIONS;
+        int count = ROTATIONS[shape];
+        int rotation = ((index % MAX_ROTATIONS + dir) % count + count) % count;
+
+        return shape * MAX_ROTATIONS + rotation;
+    }
+
+    public static String label(int shape) {
+        return LABELS[shape];
+    }
+
+    public static byte color(int shape) {
+        return COLORS[shape];
+    }
+
+    public static int width(int index) {
+        return WIDTH[index];
+    }
+
+    public static int height(int index) {
+        return HEIGHT[index];
+    }
+
+    public static int cellX(int index, int cell) {
+        return CELL_X[index * CELLS + cell];
+    }
+
+    public static int cellY(int index, int cell) {
+        return CELL_Y[index * CELLS + cell];
+    }
+
+    public static int skirt(int index, int column) {
+        return SKIRT[index * MAX_SIZE + column];
+    }
+
+    public static int top(int index, int column) {
+        return TOP[index * MAX_SIZE + column];
+    }
+
+    public static long mask(int index, int row) {
+        return MASKS[index * MAX_SIZE + row];
+    }
+}
@@ -0,0 +1,26 @@
+package com.tetris;
+
+
+public class Placement {
+    private Placement() {}
+
+    public static int encode(int rotation, int x, int y) {
+        return y << 8 | x << 2 | rotation;
+    }
+
+    public static int rotation(int placement) {
+        return placement & 3;
+    }
+
+    public static int x(int placement) {
+        return placement >>> 2 & 63;
+    }
+
+    public static int y(int placement) {
+        return placement >>> 8;
+    }
+
+    public static String toString(int placement) {
+        return "(" + rotation(placement) + ", " + x(placement) + ", " + y(placement) + ")";
+    }
+}
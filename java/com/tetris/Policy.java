@@ -0,0 +1,6 @@
+package com.tetris;
+
+
+public interface Policy {
+    void play(Tetris tetris);
+}
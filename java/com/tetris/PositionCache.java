@@ -0,0 +1,93 @@
+package com.tetris;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+public class PositionCache {
+    private static final int WAYS = 4;
+    private static final int VALUE_BITS = 16;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+
+    private AtomicLongArray keys;
+    private AtomicLongArray entries;
+    private int setMask;
+
+    public PositionCache(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(capacity / WAYS, 2) - 1) << 1;
+        keys = new AtomicLongArray(sets * WAYS);
+        entries = new AtomicLongArray(sets * WAYS);
+        setMask = sets - 1;
+    }
+
+    public int capacity() {
+        return keys.length();
+    }
+
+    public int get(long key) {
+        key = key == 0 ? 1 : key;
+        int base = ((int) key & setMask) * WAYS;
+        long newest = 0;
+        int hit = -1;
+        long hitEntry = 0;
+
+        for (int way = 0; way < WAYS; way++) {
+            long entry = entries.getOpaque(base + way);
+            newest = Math.max(newest, entry >>> VALUE_BITS);
+
+            if ((keys.getOpaque(base + way) ^ entry) == key) {
+                hit = base + way;
+                hitEntry = entry;
+            }
+        }
+
+        if (hit < 0) {
+            return -1;
+        }
+
+        if (hitEntry >>> VALUE_BITS != newest) {
+            write(hit, key, (newest + 1) << VALUE_BITS | hitEntry & VALUE_MASK);
+        }
+
+        return (int) (hitEntry & VALUE_MASK);
+    }
+
+    public void put(long key, int value) {
+        if (value < 0 || value > VALUE_MASK) {
+            throw new RuntimeException("Cached value out of range " + value);
+        }
+
+        key = key == 0 ? 1 : key;
+        int base = ((int) key & setMask) * WAYS;
+        long newest = 0;
+        long oldest = Long.MAX_VALUE;
+        int victim = base;
+
+        for (int way = 0; way < WAYS; way++) {
+            long entry = entries.getOpaque(base + way);
+            long stamp = entry >>> VALUE_BITS;
+            newest = Math.max(newest, stamp);
+
+            if ((keys.getOpaque(base + way) ^ entry) == key) {
+                victim = base + way;
+                oldest = -1;
+            } else if (stamp < oldest) {
+                victim = base + way;
+                oldest = stamp;
+            }
+        }
+
+        write(victim, key, (newest + 1) << VALUE_BITS | value);
+    }
+
+    private void write(int index, long key, long entry) {
+        entries.setOpaque(index, entry);
+        keys.setOpaque(index, key ^ entry);
+    }
+
+    public void clear() {
+        for (int i = 0; i < keys.length(); i++) {
+            keys.setOpaque(i, 0L);
+            entries.setOpaque(i, 0L);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tetris;
+
+
+public class RandomPolicy implements Policy {
+    private SplitMix64 random;
+
+    public RandomPolicy(long seed) {
+        random = new SplitMix64(seed);
+    }
+
+    public void play(Tetris tetris) {
+        int rotations = random.nextInt(4);
+
+        for (int i = 0; i < rotations; i++) {
+            tetris.apply(Action.ROTATE_CW);
+        }
+
+        int boardWidth = tetris.getBoard().getWidth();
+        int pieceWidth = tetris.getCurrentPiece().getWidth();
+        int targetX = random.nextInt(boardWidth - pieceWidth + 1);
+        int steps = Math.abs(targetX - tetris.getCurrentX());
+        Action action = targetX < tetris.getCurrentX() ? Action.MOVE_LEFT : Action.MOVE_RIGHT;
+
+        for (int i = 0; i < steps; i++) {
+            tetris.apply(action);
+        }
+
+        tetris.apply(Action.HARD_DROP);
+    }
+}
@@ -0,0 +1,6 @@
+package com.tetris;
+
+
+public interface Randomizer {
+    int next();
+}
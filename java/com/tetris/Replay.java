@@ -0,0 +1,197 @@
+package com.tetris;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+
+public class Replay {
+    public static final int MAGIC = 0x5452504C;
+    public static final byte VERSION = 2;
+    public static final int HEADER_SIZE = 25;
+
+    public static final byte MOVE_LEFT = 0;
+    public static final byte MOVE_RIGHT = 1;
+    public static final byte MOVE_DOWN = 2;
+    public static final byte ROTATE_CW = 3;
+    public static final byte ROTATE_CCW = 4;
+    public static final byte HARD_DROP = 5;
+    public static final byte TICK = 6;
+    public static final byte NEXT = 7;
+    public static final byte SPAWN = 8;
+    public static final byte MOVE = 9;
+    public static final byte ROTATE = 10;
+    public static final byte PLACE = 11;
+    public static final byte LOCK = 12;
+
+    private int width;
+    private int height;
+    private long seed;
+    private ByteBuffer actions;
+
+    public Replay(int width, int height, long seed, ByteBuffer actions) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.actions = actions;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int size() {
+        return actions.limit();
+    }
+
+    public int byteSize() {
+        return HEADER_SIZE + size();
+    }
+
+    public Tetris newGame() {
+        Tetris tetris = new Tetris(new BitBoard(width, height), seed);
+        tetris.setDebug(false);
+        return tetris;
+    }
+
+    public Tetris play() {
+        Tetris tetris = newGame();
+        play(tetris);
+        return tetris;
+    }
+
+    public void play(Tetris tetris) {
+        ByteBuffer actions = this.actions;
+        int limit = actions.limit();
+        int i = 0;
+
+        while (i < limit) {
+            byte code = actions.get(i++);
+
+            switch (code) {
+                case MOVE_LEFT:
+                    tetris.move(-1, 0);
+                    break;
+                case MOVE_RIGHT:
+                    tetris.move(1, 0);
+                    break;
+                case MOVE_DOWN:
+                    tetris.move(0, -1);
+                    break;
+                case ROTATE_CW:
+                    tetris.rotate(1);
+                    break;
+                case ROTATE_CCW:
+                    tetris.rotate(-1);
+                    break;
+                case HARD_DROP:
+                    tetris.hardDrop();
+                    break;
+                case TICK:
+                    tetris.tick();
+                    break;
+                case LOCK:
+                    tetris.lock();
+                    break;
+                case NEXT:
+                    tetris.generateRandomPiece();
+                    break;
+                case SPAWN:
+                    tetris.spawn(Piece.of(actions.get(i++)));
+                    break;
+                case MOVE:
+                    tetris.move(actions.getShort(i), actions.getShort(i + 2));
+                    i += 4;
+                    break;
+                case ROTATE:
+                    tetris.rotate(actions.get(i++));
+                    break;
+                case PLACE:
+                    tetris.place(Piece.of(actions.get(i)), actions.getShort(i + 1), actions.getShort(i + 3));
+                    i += 5;
+                    break;
+                default:
+                    throw new RuntimeException("Corrupt replay: unknown action " + code + " at " + (i - 1));
+            }
+        }
+    }
+
+    public void write(WritableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).putInt(width).putInt(height).putLong(seed).putInt(size()).flip();
+
+        ByteBuffer body = actions.duplicate();
+        body.clear();
+
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+
+    public static Replay read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header);
+        header.flip();
+
+        int length = checkHeader(header);
+        ByteBuffer actions = ByteBuffer.allocate(length);
+        readFully(channel, actions);
+        actions.flip();
+
+        return new Replay(header.getInt(5), header.getInt(9), header.getLong(13), actions);
+    }
+
+    public static Replay read(ByteBuffer buffer) {
+        int start = buffer.position();
+        int length = checkHeader(buffer.slice());
+
+        if (buffer.remaining() < HEADER_SIZE + length) {
+            throw new RuntimeException("Truncated replay");
+        }
+
+        ByteBuffer actions = buffer.slice(start + HEADER_SIZE, length);
+        Replay replay = new Replay(buffer.getInt(start + 5), buffer.getInt(start + 9), buffer.getLong(start + 13), actions);
+
+        buffer.position(start + HEADER_SIZE + length);
+        return replay;
+    }
+
+    private static int checkHeader(ByteBuffer header) {
+        if (header.remaining() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new RuntimeException("Not a replay");
+        }
+
+        if (header.get(4) != VERSION) {
+            throw new RuntimeException("Unsupported replay version " + header.get(4));
+        }
+
+        int length = header.getInt(21);
+
+        if (length < 0) {
+            throw new RuntimeException("Corrupt replay length " + length);
+        }
+
+        return length;
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new RuntimeException("Truncated replay");
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tetris;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+
+public class ReplayArchive {
+    private static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+    private ReplayArchive() {}
+
+    public static void append(Path path, Replay replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            replay.write(channel);
+        }
+    }
+
+    public static long forEach(Path path, Consumer<Replay> consumer) throws IOException {
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, MAX_WINDOW));
+                int consumed = 0;
+
+                while (window.remaining() >= Replay.HEADER_SIZE
+                        && window.remaining() >= Replay.HEADER_SIZE + window.getInt(window.position() + 21)) {
+                    consumer.accept(Replay.read(window));
+                    consumed = window.position();
+                    count += 1;
+                }
+
+                if (consumed == 0) {
+                    throw new RuntimeException("Truncated replay at offset " + position);
+                }
+
+                position += consumed;
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tetris;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+public class ReplayRecorder {
+    private int width;
+    private int height;
+    private long seed;
+    private byte[] buffer = new byte[256];
+    private int size = 0;
+
+    public ReplayRecorder(int width, int height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+    }
+
+    private void ensure(int count) {
+        if (size + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + count));
+        }
+    }
+
+    private void put(int code) {
+        ensure(1);
+        buffer[size++] = (byte) code;
+    }
+
+    public void move(int dx, int dy) {
+        if (dx == -1 && dy == 0) {
+            put(Replay.MOVE_LEFT);
+        } else if (dx == 1 && dy == 0) {
+            put(Replay.MOVE_RIGHT);
+        } else if (dx == 0 && dy == -1) {
+            put(Replay.MOVE_DOWN);
+        } else {
+            ensure(5);
+            buffer[size++] = Replay.MOVE;
+            buffer[size++] = (byte) (dx >> 8);
+            buffer[size++] = (byte) dx;
+            buffer[size++] = (byte) (dy >> 8);
+            buffer[size++] = (byte) dy;
+        }
+    }
+
+    public void rotate(int dir) {
+        if (dir == 1) {
+            put(Replay.ROTATE_CW);
+        } else if (dir == -1) {
+            put(Replay.ROTATE_CCW);
+        } else {
+            ensure(2);
+            buffer[size++] = Replay.ROTATE;
+            buffer[size++] = (byte) dir;
+        }
+    }
+
+    public void hardDrop() {
+        put(Replay.HARD_DROP);
+    }
+
+    public void tick() {
+        put(Replay.TICK);
+    }
+
+    public void lock() {
+        put(Replay.LOCK);
+    }
+
+    public void next() {
+        put(Replay.NEXT);
+    }
+
+    public void spawn(Piece piece) {
+        ensure(2);
+        buffer[size++] = Replay.SPAWN;
+        buffer[size++] = (byte) piece.getIndex();
+    }
+
+    public void place(Piece piece, int x, int y) {
+        ensure(6);
+        buffer[size++] = Replay.PLACE;
+        buffer[size++] = (byte) piece.getIndex();
+        buffer[size++] = (byte) (x >> 8);
+        buffer[size++] = (byte) x;
+        buffer[size++] = (byte) (y >> 8);
+        buffer[size++] = (byte) y;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Replay toReplay() {
+        return new Replay(width, height, seed, ByteBuffer.wrap(Arrays.copyOf(buffer, size)));
+    }
+}
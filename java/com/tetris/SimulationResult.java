@@ -0,0 +1,67 @@
+package com.tetris;
+
+
+public class SimulationResult {
+    private final long games;
+    private final long pieces;
+    private final long lines;
+    private final long score;
+    private final long elapsedNanos;
+
+    public SimulationResult(long games, long pieces, long lines, long score, long elapsedNanos) {
+        this.games = games;
+        this.pieces = pieces;
+        this.lines = lines;
+        this.score = score;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public static SimulationResult of(Tetris tetris, long elapsedNanos) {
+        return new SimulationResult(1, tetris.getPieceCount(), tetris.getLineCount(), tetris.getScore(), elapsedNanos);
+    }
+
+    public SimulationResult combine(SimulationResult other) {
+        return new SimulationResult(
+            games + other.games,
+            pieces + other.pieces,
+            lines + other.lines,
+            score + other.score,
+            elapsedNanos + other.elapsedNanos
+        );
+    }
+
+    public SimulationResult withElapsed(long elapsedNanos) {
+        return new SimulationResult(games, pieces, lines, score, elapsedNanos);
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getPieces() {
+        return pieces;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getPiecesPerSecond() {
+        return elapsedNanos == 0 ? 0 : pieces * 1e9 / elapsedNanos;
+    }
+
+    public String toString() {
+        return String.format(
+            "games=%d pieces=%d lines=%d score=%d pieces/sec=%.0f",
+            games, pieces, lines, score, getPiecesPerSecond()
+        );
+    }
+}
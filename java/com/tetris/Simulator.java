@@ -0,0 +1,90 @@
+package com.tetris;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+
+public class Simulator {
+    private static final int SEQUENTIAL_GAMES = 4;
+
+    private Supplier<Board> boards;
+    private LongFunction<Policy> policies;
+    private int maxPieces;
+    private ForkJoinPool pool;
+
+    public Simulator(Supplier<Board> boards, LongFunction<Policy> policies, int maxPieces) {
+        this(boards, policies, maxPieces, ForkJoinPool.commonPool());
+    }
+
+    public Simulator(Supplier<Board> boards, LongFunction<Policy> policies, int maxPieces, ForkJoinPool pool) {
+        this.boards = boards;
+        this.policies = policies;
+        this.maxPieces = maxPieces;
+        this.pool = pool;
+    }
+
+    public SimulationResult play(long seed) {
+        long start = System.nanoTime();
+        Tetris tetris = new Tetris(boards.get(), seed);
+        Policy policy = policies.apply(seed);
+
+        tetris.setDebug(false);
+        tetris.generateRandomPiece();
+
+        while (!tetris.isGameOver() && tetris.getPieceCount() < maxPieces) {
+            int pieceCount = tetris.getPieceCount();
+            policy.play(tetris);
+
+            if (tetris.getPieceCount() == pieceCount && !tetris.isGameOver()) {
+                tetris.hardDrop();
+
+                if (tetris.getPieceCount() == pieceCount) {
+                    break;
+                }
+            }
+        }
+
+        return SimulationResult.of(tetris, System.nanoTime() - start);
+    }
+
+    public SimulationResult run(int games, long seed) {
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new SimulationTask(seed, 0, games));
+        return result.withElapsed(System.nanoTime() - start);
+    }
+
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private long seed;
+        private int from;
+        private int to;
+
+        SimulationTask(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected SimulationResult compute() {
+            if (to - from <= SEQUENTIAL_GAMES) {
+                SimulationResult result = new SimulationResult(0, 0, 0, 0, 0);
+
+                for (int i = from; i < to; i++) {
+                    result = result.combine(play(SplitMix64.stream(seed, i)));
+                }
+
+                return result;
+            }
+
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(seed, from, mid);
+            left.fork();
+            SimulationResult right = new SimulationTask(seed, mid, to).compute();
+
+            return right.combine(left.join());
+        }
+    }
+}
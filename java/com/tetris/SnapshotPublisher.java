@@ -0,0 +1,78 @@
+package com.tetris;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+public class SnapshotPublisher {
+    private volatile GameSnapshot latest;
+    private volatile boolean running = true;
+    private long sequence = 0;
+    private List<Consumer<GameSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile Thread dispatcher;
+
+    public void publish(Tetris tetris) {
+        sequence += 1;
+        latest = GameSnapshot.of(tetris, sequence);
+        Thread thread = dispatcher;
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public GameSnapshot poll() {
+        return latest;
+    }
+
+    public synchronized void subscribe(Consumer<GameSnapshot> subscriber) {
+        subscribers.add(subscriber);
+
+        if (dispatcher == null && running) {
+            Thread thread = new Thread(this::dispatch, "tetris-snapshot-dispatcher");
+            thread.setDaemon(true);
+            dispatcher = thread;
+            thread.start();
+        }
+    }
+
+    public void unsubscribe(Consumer<GameSnapshot> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public void close() throws InterruptedException {
+        running = false;
+        Thread thread = dispatcher;
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+    }
+
+    private void dispatch() {
+        long delivered = 0;
+
+        while (true) {
+            GameSnapshot snapshot = latest;
+
+            if (snapshot != null && snapshot.getSequence() != delivered) {
+                delivered = snapshot.getSequence();
+
+                for (Consumer<GameSnapshot> subscriber : subscribers) {
+                    subscriber.accept(snapshot);
+                }
+
+                continue;
+            }
+
+            if (!running) {
+                return;
+            }
+
+            LockSupport.park(this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tetris;
+
+
+public class SolverResult {
+    private final Piece[] pieces;
+    private final int[] placements;
+    private final int lines;
+    private final boolean perfectClear;
+    private final long nodes;
+
+    public SolverResult(Piece[] pieces, int[] placements, int lines, boolean perfectClear, long nodes) {
+        this.pieces = pieces;
+        this.placements = placements;
+        this.lines = lines;
+        this.perfectClear = perfectClear;
+        this.nodes = nodes;
+    }
+
+    public int size() {
+        return placements.length;
+    }
+
+    public Piece getPiece(int index) {
+        return pieces[index];
+    }
+
+    public int getX(int index) {
+        return Placement.x(placements[index]);
+    }
+
+    public int getY(int index) {
+        return Placement.y(placements[index]);
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public boolean isPerfectClear() {
+        return perfectClear;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(perfectClear ? "perfect clear" : "lines=" + lines).append(" nodes=").append(nodes);
+
+        for (int i = 0; i < placements.length; i++) {
+            builder.append(' ').append(pieces[i].getName()).append(Placement.toString(placements[i]));
+        }
+
+        return builder.toString();
+    }
+}
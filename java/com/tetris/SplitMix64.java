@@ -0,0 +1,64 @@
+package com.tetris;
+
+
+public class SplitMix64 {
+    public static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        state = seed;
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static long stream(long seed, long index) {
+        return mix(seed + (index + 1) * GAMMA);
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    public long nextLong() {
+        state += GAMMA;
+        return mix(state);
+    }
+
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new RuntimeException("Bound must be positive");
+        }
+
+        long range = (long) bound;
+        long product = (nextLong() >>> 32) * range;
+        long low = product & 0xFFFFFFFFL;
+
+        if (low < range) {
+            long threshold = (0x100000000L - range) % range;
+
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * range;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public SplitMix64 split() {
+        return new SplitMix64(nextLong());
+    }
+}
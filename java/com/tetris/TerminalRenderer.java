@@ -0,0 +1,129 @@
+package com.tetris;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+public class TerminalRenderer {
+    private static final byte ESC = 27;
+
+    private OutputStream out;
+    private byte[] buffer = new byte[4096];
+    private int size = 0;
+    private char[] frame = new char[0];
+    private int width = -1;
+    private int height = -1;
+    private int cursorRow;
+    private int cursorColumn;
+    private volatile String status = "";
+
+    public TerminalRenderer(OutputStream out) {
+        this.out = out;
+    }
+
+    public void status(String status) {
+        this.status = status;
+    }
+
+    public void invalidate() {
+        width = -1;
+        height = -1;
+    }
+
+    public void render(BoardView board) {
+        size = 0;
+        cursorRow = -1;
+
+        if (board.getWidth() != width || board.getHeight() != height) {
+            width = board.getWidth();
+            height = board.getHeight();
+            frame = new char[width * height];
+            Arrays.fill(frame, '\0');
+            append(ESC).append('[').append('2').append('J');
+            moveTo(1, 1);
+        }
+
+        for (int y = height - 1; y >= 0; y--) {
+            int row = height - y;
+
+            for (int x = 0; x < width; x++) {
+                char cell = board.getCell(x, y);
+                int index = y * width + x;
+
+                if (frame[index] == cell) {
+                    continue;
+                }
+
+                int column = 2 * x + 1;
+
+                if (row == cursorRow && column == cursorColumn + 1) {
+                    append(' ');
+                    cursorColumn += 1;
+                } else if (row != cursorRow || column != cursorColumn) {
+                    moveTo(row, column);
+                }
+
+                append(cell);
+                cursorColumn += 1;
+                frame[index] = cell;
+            }
+        }
+
+        moveTo(height + 1, 1);
+        append(ESC).append('[').append('J');
+        String text = status;
+
+        if (!text.isEmpty()) {
+            for (byte value : text.getBytes(StandardCharsets.UTF_8)) {
+                append(value);
+            }
+
+            append('\n');
+        }
+
+        flush();
+    }
+
+    private void moveTo(int row, int column) {
+        append(ESC).append('[');
+        appendNumber(row);
+        append(';');
+        appendNumber(column);
+        append('H');
+        cursorRow = row;
+        cursorColumn = column;
+    }
+
+    private TerminalRenderer append(byte value) {
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        buffer[size++] = value;
+        return this;
+    }
+
+    private TerminalRenderer append(char value) {
+        return append((byte) value);
+    }
+
+    private void appendNumber(int value) {
+        if (value >= 10) {
+            appendNumber(value / 10);
+        }
+
+        append((char) ('0' + value % 10));
+    }
+
+    private void flush() {
+        try {
+            out.write(buffer, 0, size);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.tetris;
 
 import java.util.Arrays;
-import java.util.Random;
 
 
 public class Tetris {
     private boolean DEBUG = true;
-    public static int BOARD_WIDTH = 10;
-    public static int BOARD_HEIGHT = 20;
+    public static final int BOARD_WIDTH = 10;
+    public static final int BOARD_HEIGHT = 20;
+    public static final int PREVIEW_SIZE = 5;
+    public static final int EVENT_CAPACITY = 1024;
     public static String ROTATE_CCW = "ROTATE_CCW";
     public static String ROTATE_CW = "ROTATE_CW";
     public static String MOVE_RIGHT = "MOVE_RIGHT";
@@ -24,31 +25,178 @@ public class Tetris {
     protected int currentX;
     protected int currentY;
 
-    protected Random random;
+    protected Randomizer randomizer;
+    protected PieceQueue queue;
+    protected boolean customRandomizer;
+    protected long seed;
+    protected ReplayRecorder recorder;
+    protected GameEventRing events;
     protected int lineCount;
     protected int score;
+    protected int pieceCount;
+    protected boolean gameOver;
 
     public Tetris() {
+        this(BOARD_WIDTH, BOARD_HEIGHT);
+    }
+
+    public Tetris(int width, int height) {
+        this(new GridBoard(width, height, true));
+    }
+
+    public Tetris(Board board) {
+        this(board, SplitMix64.mix(System.nanoTime()));
+    }
+
+    public Tetris(Board board, long seed) {
+        this(board, seed, new BagRandomizer(new SplitMix64(seed)), PREVIEW_SIZE, false);
+    }
+
+    public Tetris(Board board, long seed, Randomizer randomizer, int previewSize) {
+        this(board, seed, randomizer, previewSize, true);
+    }
+
+    private Tetris(Board board, long seed, Randomizer randomizer, int previewSize, boolean customRandomizer) {
         Piece.generatePieces();
-        board = new Board(BOARD_WIDTH, BOARD_HEIGHT);
+        this.board = board;
+        this.seed = seed;
+        this.randomizer = randomizer;
+        queue = new PieceQueue(randomizer, previewSize);
+        this.customRandomizer = customRandomizer;
         pieces = Piece.pieces;
-        random = new Random();
         lineCount = 0;
         score = 0;
+        pieceCount = 0;
+        gameOver = false;
+    }
+
+    public void setDebug(boolean debug) {
+        DEBUG = debug;
+    }
+
+    public ReplayRecorder record() {
+        if (currentPiece != null) {
+            throw new RuntimeException("Recording must start before the first piece");
+        }
+
+        if (customRandomizer) {
+            throw new RuntimeException("Only games using the default randomizer can be recorded");
+        }
+
+        recorder = new ReplayRecorder(board.getWidth(), board.getHeight(), seed);
+        return recorder;
+    }
+
+    public GameEventRing getEvents() {
+        if (events == null) {
+            events = new GameEventRing(EVENT_CAPACITY);
+        }
+
+        return events;
     }
 
-    public void debug() {
-        if (DEBUG) {
-            System.out.println("Name: " + currentPiece.getName());
-            System.out.println("Coordinates: " + "(" + currentX + ", " + currentY + ")");
-            System.out.println("W: " + currentPiece.getWidth() + ", H: " + currentPiece.getHeight());
-            System.out.println("Skirt: " + Arrays.toString(currentPiece.getSkirt()));
-            System.out.println("Body: " + Arrays.toString(currentPiece.getBody()));
-            System.out.println("Heights: " + Arrays.toString(board.getHeights()));
-            System.out.println("Widths: " + Arrays.toString(board.getWidths()));
+    protected void emit(EventType type, Piece piece, int x, int y, int lines) {
+        if (events != null) {
+            events.publish(type, piece, x, y, lines, score);
         }
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Piece getCurrentPiece() {
+        return currentPiece;
+    }
+
+    public int getCurrentX() {
+        return currentX;
+    }
+
+    public int getCurrentY() {
+        return currentY;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+    public int getPreviewSize() {
+        return queue.size();
+    }
+
+    public Piece getPreview(int index) {
+        return queue.peek(index);
+    }
+
+    public int getSpawnX(Piece piece) {
+        return (board.getWidth() - piece.getWidth()) / 2;
+    }
+
+    public int getSpawnY(Piece piece) {
+        return board.getHeight() - piece.getHeight();
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public void apply(Action action) {
+        if (gameOver) {
+            return;
+        }
+
+        switch (action) {
+            case MOVE_LEFT:
+                move(-1, 0);
+                break;
+            case MOVE_RIGHT:
+                move(1, 0);
+                break;
+            case MOVE_DOWN:
+                move(0, -1);
+                break;
+            case ROTATE_CW:
+                rotate(1);
+                break;
+            case ROTATE_CCW:
+                rotate(-1);
+                break;
+            case HARD_DROP:
+                hardDrop();
+                break;
+            case TICK:
+                tick();
+                break;
+        }
+    }
+
+    public String debug() {
+        if (!DEBUG) {
+            return "";
+        }
+
+        return "Name: " + currentPiece.getName()
+            + "\nCoordinates: " + "(" + currentX + ", " + currentY + ")"
+            + "\nW: " + currentPiece.getWidth() + ", H: " + currentPiece.getHeight()
+            + "\nSkirt: " + Arrays.toString(currentPiece.getSkirt())
+            + "\nBody: " + Arrays.toString(currentPiece.getBody())
+            + "\nHeights: " + Arrays.toString(board.getHeights())
+            + "\nWidths: " + Arrays.toString(board.getWidths());
+    }
+
     private Message setCurrentPiece(Piece piece, int x, int y) {
         Message message = board.insert(piece, x, y);
 
@@ -63,44 +211,68 @@ public class Tetris {
         return message;
     }
 
-    private void step() {
+    protected int step() {
         int lineCount = board.clearRows();
         this.lineCount += lineCount;
         score += lineCount * 100;
-    }
 
-    public Piece getRandomPiece() {
-        int index;
-        index = (int)(pieces.length * random.nextDouble());
-        return pieces[index];
+        if (lineCount > 0) {
+            emit(EventType.LINES_CLEARED, null, 0, 0, lineCount);
+        }
+
+        return lineCount;
     }
 
     public void spawn(Piece piece) {
-        int pieceWidth = piece.getWidth();
-        int pieceHeight = piece.getHeight();
-        int boardWidth = board.getWidth();
-        int boardHeight = board.getHeight();
-        int pX = (boardWidth - pieceWidth) / 2;
-        int pY = boardHeight - pieceHeight;
+        if (recorder != null) {
+            recorder.spawn(piece);
+        }
+
+        spawnPiece(piece);
+    }
+
+    private void spawnPiece(Piece piece) {
+        int pX = getSpawnX(piece);
+        int pY = getSpawnY(piece);
 
         board.commit();
-        setCurrentPiece(piece, pX, pY);
+        Message message = setCurrentPiece(piece, pX, pY);
+
+        if (message == Message.PLACE_OK) {
+            pieceCount += 1;
+            emit(EventType.SPAWNED, piece, pX, pY, 0);
+        } else {
+            gameOver = true;
+            emit(EventType.GAME_OVER, piece, pX, pY, 0);
+        }
     }
 
     public void spawn(String s) {
         Piece newPiece = Piece.get(s);
-        int pieceWidth = newPiece.getWidth();
-        int pieceHeight = newPiece.getHeight();
-        int boardWidth = board.getWidth();
-        int boardHeight = board.getHeight();
-        int pX = (boardWidth - pieceWidth) / 2;
-        int pY = boardHeight - pieceHeight;
 
-        board.commit();
-        setCurrentPiece(newPiece, pX, pY);
+        if (newPiece == null) {
+            throw new RuntimeException("Unknown piece " + s);
+        }
+
+        spawn(newPiece);
     }
 
-    public void rotate(int dir) {
+    public Message rotate(int dir) {
+        if (recorder != null) {
+            recorder.rotate(dir);
+        }
+
+        if (!Metrics.ENABLED) {
+            return rotatePiece(dir);
+        }
+
+        long start = System.nanoTime();
+        Message message = rotatePiece(dir);
+        Metrics.ROTATE.record(System.nanoTime() - start);
+        return message;
+    }
+
+    private Message rotatePiece(int dir) {
         Piece rotatedPiece = currentPiece.getRotated(dir);
         int currentWidth = currentPiece.getWidth();
         int currentHeight = currentPiece.getHeight();
@@ -113,12 +285,30 @@ public class Tetris {
         Message message = setCurrentPiece(rotatedPiece, pX, pY);
 
         if (message.ordinal() >= Message.PLACE_OUT_BOUNDS.ordinal()) {
-            System.out.println("Failed");
             board.insert(currentPiece, currentX, currentY);
+        } else {
+            emit(EventType.ROTATED, currentPiece, currentX, currentY, 0);
         }
+
+        return message;
     }
 
     public Message move(int x, int y) {
+        if (recorder != null) {
+            recorder.move(x, y);
+        }
+
+        if (!Metrics.ENABLED) {
+            return movePiece(x, y);
+        }
+
+        long start = System.nanoTime();
+        Message message = movePiece(x, y);
+        Metrics.MOVE.record(System.nanoTime() - start);
+        return message;
+    }
+
+    private Message movePiece(int x, int y) {
         int dX = currentX + x;
         int dY = currentY + y;
 
@@ -126,7 +316,25 @@ public class Tetris {
         Message message = setCurrentPiece(currentPiece, dX, dY);
 
         if (message.ordinal() >= Message.PLACE_OUT_BOUNDS.ordinal()) {
-            System.out.println("Failed");
+            board.insert(currentPiece, currentX, currentY);
+        } else {
+            emit(EventType.MOVED, currentPiece, currentX, currentY, 0);
+        }
+
+        return message;
+    }
+
+    public Message place(Piece piece, int x, int y) {
+        if (recorder != null) {
+            recorder.place(piece, x, y);
+        }
+
+        board.undo();
+        Message message = setCurrentPiece(piece, x, y);
+
+        if (message == Message.PLACE_OK) {
+            nextRandomPiece();
+        } else {
             board.insert(currentPiece, currentX, currentY);
         }
 
@@ -141,28 +349,99 @@ public class Tetris {
         }
     }
 
+    public boolean isResting() {
+        if (currentPiece == null || gameOver) {
+            return false;
+        }
+
+        int[] skirt = currentPiece.getSkirt();
+
+        for (int i = 0; i < skirt.length; i++) {
+            int y = currentY + skirt[i] - 1;
+
+            if (y < 0 || board.isFilled(currentX + i, y)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void lock() {
+        if (recorder != null) {
+            recorder.lock();
+        }
+
+        nextRandomPiece();
+    }
+
     public void generateRandomPiece() {
-        Piece nextPiece = getRandomPiece();
+        if (recorder != null) {
+            recorder.next();
+        }
+
+        nextRandomPiece();
+    }
+
+    private void nextRandomPiece() {
+        if (currentPiece != null) {
+            emit(EventType.LOCKED, currentPiece, currentX, currentY, 0);
+        }
+
+        Piece piece = queue.poll();
         step();
-        spawn(nextPiece);
+
+        if (!gameOver) {
+            spawnPiece(piece);
+        }
     }
 
     public void hardDrop() {
+        if (recorder != null) {
+            recorder.hardDrop();
+        }
+
+        if (!Metrics.ENABLED) {
+            dropPiece();
+            return;
+        }
+
+        long start = System.nanoTime();
+        dropPiece();
+        Metrics.HARD_DROP.record(System.nanoTime() - start);
+    }
+
+    private void dropPiece() {
         board.undo();
         int pY = board.dropHeight(currentPiece, currentX);
         Message message = setCurrentPiece(currentPiece, currentX, pY);
 
         if (message == Message.PLACE_OK) {
-            generateRandomPiece();
+            nextRandomPiece();
         }
     }
 
     public void tick() {
+        if (recorder != null) {
+            recorder.tick();
+        }
+
+        if (!Metrics.ENABLED) {
+            tickPiece();
+            return;
+        }
+
+        long start = System.nanoTime();
+        tickPiece();
+        Metrics.TICK.record(System.nanoTime() - start);
+    }
+
+    private void tickPiece() {
         board.undo();
-        Message message = move(0, -1);
+        Message message = movePiece(0, -1);
 
         if (message.ordinal() >= Message.PLACE_OUT_BOUNDS.ordinal()) {
-            generateRandomPiece();
+            nextRandomPiece();
         }
     }
 }
@@ -0,0 +1,120 @@
+package com.tetris;
+
+import java.nio.ByteBuffer;
+
+
+public class TetrisEnv {
+    public static final byte EMPTY = 0;
+    public static final byte LOCKED = 1;
+    public static final byte ACTIVE = 2;
+
+    private static final Action[] ACTIONS = Action.values();
+
+    private int width;
+    private int height;
+    private int previewSize;
+    private BitBoard board;
+    private long[] empty;
+    private long[] rows;
+    private int[] heights;
+    private Tetris tetris;
+
+    public TetrisEnv(int width, int height) {
+        this(width, height, Tetris.PREVIEW_SIZE);
+    }
+
+    public TetrisEnv(int width, int height, int previewSize) {
+        this.width = width;
+        this.height = height;
+        this.previewSize = previewSize;
+        board = new BitBoard(width, height);
+        empty = new long[height];
+        rows = new long[height];
+        heights = new int[width];
+    }
+
+    public static int getActionCount() {
+        return ACTIONS.length;
+    }
+
+    public int getObservationSize() {
+        return width * height + 2 * width + 6 + previewSize;
+    }
+
+    public Tetris getTetris() {
+        return tetris;
+    }
+
+    public boolean isDone() {
+        return tetris.isGameOver();
+    }
+
+    public void reset(long seed, ByteBuffer observation, int offset) {
+        board.load(empty);
+        tetris = new Tetris(board, seed, new BagRandomizer(new SplitMix64(seed)), previewSize);
+        tetris.setDebug(false);
+        tetris.generateRandomPiece();
+        observe(observation, offset);
+    }
+
+    public float step(int action, ByteBuffer observation, int offset) {
+        int lines = tetris.getLineCount();
+
+        tetris.apply(ACTIONS[action]);
+        observe(observation, offset);
+
+        return tetris.getLineCount() - lines;
+    }
+
+    public void observe(ByteBuffer out, int offset) {
+        Piece piece = tetris.getCurrentPiece();
+        int index = piece.getIndex();
+        int pieceX = tetris.getCurrentX();
+        int pieceY = tetris.getCurrentY();
+        boolean active = !tetris.isGameOver();
+
+        System.arraycopy(board.getRows(), 0, rows, 0, height);
+
+        if (active) {
+            for (int i = 0; i < PieceTable.height(index); i++) {
+                rows[pieceY + i] &= ~(PieceTable.mask(index, i) << pieceX);
+            }
+        }
+
+        for (int y = 0; y < height; y++) {
+            long row = rows[y];
+            long activeRow = active && y >= pieceY && y < pieceY + PieceTable.height(index)
+                ? PieceTable.mask(index, y - pieceY) << pieceX
+                : 0;
+            int base = offset + y * width;
+
+            for (int x = 0; x < width; x++) {
+                byte cell = (row >>> x & 1L) != 0 ? LOCKED : (activeRow >>> x & 1L) != 0 ? ACTIVE : EMPTY;
+                out.put(base + x, cell);
+            }
+
+            while (row != 0) {
+                heights[Long.numberOfTrailingZeros(row)] = y + 1;
+                row &= row - 1;
+            }
+        }
+
+        int position = offset + width * height;
+
+        for (int x = 0; x < width; x++) {
+            out.putShort(position, (short) heights[x]);
+            heights[x] = 0;
+            position += 2;
+        }
+
+        out.put(position, (byte) piece.getShape());
+        out.put(position + 1, (byte) piece.getRotation());
+        out.putShort(position + 2, (short) pieceX);
+        out.putShort(position + 4, (short) pieceY);
+        position += 6;
+
+        for (int i = 0; i < previewSize; i++) {
+            out.put(position + i, (byte) tetris.getPreview(i).getShape());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tetris;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+public class TranspositionTable {
+    private AtomicLongArray keys;
+    private AtomicLongArray values;
+    private int mask;
+
+    public TranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        keys = new AtomicLongArray(size);
+        values = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    public static long hash(Board board, int salt) {
+        return key(board.getHash(), salt);
+    }
+
+    public static long key(long boardHash, int salt) {
+        return mix(boardHash + SplitMix64.GAMMA * (salt + 1));
+    }
+
+    public static long mix(long z) {
+        return SplitMix64.mix(z);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public double get(long key) {
+        int index = (int) key & mask;
+        long value = values.getOpaque(index);
+
+        if ((keys.getOpaque(index) ^ value) != key) {
+            return Double.NaN;
+        }
+
+        return Double.longBitsToDouble(value);
+    }
+
+    public void put(long key, double value) {
+        int index = (int) key & mask;
+        long bits = Double.doubleToRawLongBits(value);
+
+        values.setOpaque(index, bits);
+        keys.setOpaque(index, key ^ bits);
+    }
+
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            keys.setOpaque(i, 0L);
+            values.setOpaque(i, 0L);
+        }
+    }
+}
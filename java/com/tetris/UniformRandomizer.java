@@ -0,0 +1,14 @@
+package com.tetris;
+
+
+public class UniformRandomizer implements Randomizer {
+    private SplitMix64 random;
+
+    public UniformRandomizer(SplitMix64 random) {
+        this.random = random;
+    }
+
+    public int next() {
+        return random.nextInt(PieceTable.SHAPES);
+    }
+}
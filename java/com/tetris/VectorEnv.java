@@ -0,0 +1,57 @@
+package com.tetris;
+
+import java.nio.ByteBuffer;
+
+
+public class VectorEnv {
+    private TetrisEnv[] envs;
+    private long seed;
+    private long episodes;
+
+    public VectorEnv(int count, int width, int height) {
+        this(count, width, height, Tetris.PREVIEW_SIZE);
+    }
+
+    public VectorEnv(int count, int width, int height, int previewSize) {
+        envs = new TetrisEnv[count];
+
+        for (int i = 0; i < count; i++) {
+            envs[i] = new TetrisEnv(width, height, previewSize);
+        }
+    }
+
+    public int size() {
+        return envs.length;
+    }
+
+    public TetrisEnv get(int index) {
+        return envs[index];
+    }
+
+    public int getObservationSize() {
+        return envs[0].getObservationSize();
+    }
+
+    public void reset(long seed, ByteBuffer observations) {
+        this.seed = seed;
+        episodes = 0;
+
+        for (int i = 0; i < envs.length; i++) {
+            envs[i].reset(SplitMix64.stream(seed, episodes++), observations, i * getObservationSize());
+        }
+    }
+
+    public void step(int[] actions, ByteBuffer observations, float[] rewards, boolean[] dones) {
+        int size = getObservationSize();
+
+        for (int i = 0; i < envs.length; i++) {
+            TetrisEnv env = envs[i];
+            rewards[i] = env.step(actions[i], observations, i * size);
+            dones[i] = env.isDone();
+
+            if (dones[i]) {
+                env.reset(SplitMix64.stream(seed, episodes++), observations, i * size);
+            }
+        }
+    }
+}
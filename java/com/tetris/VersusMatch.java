@@ -0,0 +1,117 @@
+package com.tetris;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+
+public class VersusMatch {
+    private static final int QUEUE_CAPACITY = 64;
+
+    private VersusPlayer[] players;
+    private Policy[] policies;
+    private int maxPieces;
+    private AtomicInteger alive;
+
+    public VersusMatch(Supplier<Board> boards, LongFunction<Policy> policies, int playerCount, long seed, int maxPieces) {
+        if (playerCount < 2) {
+            throw new RuntimeException("A match needs at least two players");
+        }
+
+        this.players = new VersusPlayer[playerCount];
+        this.policies = new Policy[playerCount];
+        this.maxPieces = maxPieces;
+        alive = new AtomicInteger(playerCount);
+
+        GarbageQueue[][] queues = new GarbageQueue[playerCount][playerCount];
+
+        for (int from = 0; from < playerCount; from++) {
+            for (int to = 0; to < playerCount; to++) {
+                if (from != to) {
+                    queues[from][to] = new GarbageQueue(QUEUE_CAPACITY);
+                }
+            }
+        }
+
+        for (int i = 0; i < playerCount; i++) {
+            GarbageQueue[] inbound = new GarbageQueue[playerCount - 1];
+            GarbageQueue[] outbound = new GarbageQueue[playerCount - 1];
+            int n = 0;
+
+            for (int j = 0; j < playerCount; j++) {
+                if (j != i) {
+                    inbound[n] = queues[j][i];
+                    outbound[n] = queues[i][j];
+                    n += 1;
+                }
+            }
+
+            long playerSeed = SplitMix64.stream(seed, i);
+            players[i] = new VersusPlayer(boards.get(), seed, playerSeed);
+            players[i].setDebug(false);
+            players[i].connect(inbound, outbound);
+            this.policies[i] = policies.apply(playerSeed);
+        }
+    }
+
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    public VersusPlayer getPlayer(int index) {
+        return players[index];
+    }
+
+    public CompletableFuture<Integer> play(Executor executor) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[players.length];
+
+        for (int i = 0; i < players.length; i++) {
+            int index = i;
+            futures[i] = CompletableFuture.runAsync(() -> run(index), executor);
+        }
+
+        return CompletableFuture.allOf(futures).thenApply(v -> getWinner());
+    }
+
+    public int getWinner() {
+        int winner = -1;
+
+        for (int i = 0; i < players.length; i++) {
+            if (!players[i].isGameOver()) {
+                if (winner >= 0) {
+                    return -1;
+                }
+
+                winner = i;
+            }
+        }
+
+        return winner;
+    }
+
+    private void run(int index) {
+        VersusPlayer player = players[index];
+        Policy policy = policies[index];
+
+        player.generateRandomPiece();
+
+        while (!player.isGameOver() && player.getPieceCount() < maxPieces && alive.get() > 1) {
+            int pieceCount = player.getPieceCount();
+            policy.play(player);
+
+            if (player.getPieceCount() == pieceCount && !player.isGameOver()) {
+                player.hardDrop();
+
+                if (player.getPieceCount() == pieceCount) {
+                    break;
+                }
+            }
+        }
+
+        if (player.isGameOver()) {
+            alive.decrementAndGet();
+        }
+    }
+}
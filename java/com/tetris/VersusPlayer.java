@@ -0,0 +1,83 @@
+package com.tetris;
+
+
+public class VersusPlayer extends Tetris {
+    private static final int[] ATTACK = { 0, 0, 1, 2, 4 };
+
+    private GarbageQueue[] inbound = new GarbageQueue[0];
+    private GarbageQueue[] outbound = new GarbageQueue[0];
+    private SplitMix64 holes;
+    private int target = 0;
+    private int pending = 0;
+    private int linesSent = 0;
+    private int linesReceived = 0;
+    private int linesDropped = 0;
+
+    public VersusPlayer(Board board, long seed, long holeSeed) {
+        super(board, seed);
+        holes = new SplitMix64(holeSeed);
+    }
+
+    public void connect(GarbageQueue[] inbound, GarbageQueue[] outbound) {
+        this.inbound = inbound;
+        this.outbound = outbound;
+    }
+
+    public int getLinesSent() {
+        return linesSent;
+    }
+
+    public int getLinesReceived() {
+        return linesReceived;
+    }
+
+    public int getLinesDropped() {
+        return linesDropped;
+    }
+
+    public int getPendingGarbage() {
+        return pending;
+    }
+
+    protected int step() {
+        int lines = super.step();
+
+        for (GarbageQueue queue : inbound) {
+            int rows;
+
+            while ((rows = queue.poll()) > 0) {
+                pending += rows;
+            }
+        }
+
+        int attack = ATTACK[Math.min(lines, ATTACK.length - 1)];
+        int cancelled = Math.min(attack, pending);
+        pending -= cancelled;
+        attack -= cancelled;
+
+        if (attack > 0 && outbound.length > 0) {
+            GarbageQueue queue = outbound[target];
+            target = (target + 1) % outbound.length;
+
+            if (queue.offer(attack)) {
+                linesSent += attack;
+            } else {
+                linesDropped += attack;
+            }
+        }
+
+        if (lines == 0 && pending > 0) {
+            board.commit();
+            Message message = board.insertGarbage(pending, holes.nextInt(board.getWidth()));
+            linesReceived += pending;
+            pending = 0;
+
+            if (message != Message.PLACE_OK) {
+                gameOver = true;
+                emit(EventType.GAME_OVER, null, 0, 0, 0);
+            }
+        }
+
+        return lines;
+    }
+}
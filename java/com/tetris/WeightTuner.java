@@ -0,0 +1,289 @@
+package com.tetris;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+public class WeightTuner {
+    public static final int MAGIC = 0x54554E45;
+    public static final int VERSION = 1;
+
+    private static final int SEQUENTIAL_GAMES = 4;
+    private static final int TABLE_SIZE = 1 << 10;
+    private static final double INITIAL_DEVIATION = 0.5;
+    private static final double INITIAL_NOISE = 0.1;
+    private static final int NOISE_GENERATIONS = 20;
+
+    private int width;
+    private int height;
+    private int populationSize;
+    private int eliteSize;
+    private int games;
+    private int maxPieces;
+    private long seed;
+    private ForkJoinPool pool;
+
+    private int generation = 0;
+    private double[] mean;
+    private double[] deviation;
+    private double[][] population;
+    private double[] fitness;
+    private double[] bestWeights;
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+
+    public WeightTuner(int populationSize, int eliteSize, int games, int maxPieces, long seed) {
+        this(Tetris.BOARD_WIDTH, Tetris.BOARD_HEIGHT, populationSize, eliteSize, games, maxPieces, seed, ForkJoinPool.commonPool());
+    }
+
+    public WeightTuner(int width, int height, int populationSize, int eliteSize, int games, int maxPieces, long seed, ForkJoinPool pool) {
+        if (eliteSize < 1 || eliteSize > populationSize || games < 1) {
+            throw new RuntimeException("Elite size must be between 1 and the population size, with at least one game");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.populationSize = populationSize;
+        this.eliteSize = eliteSize;
+        this.games = games;
+        this.maxPieces = maxPieces;
+        this.seed = seed;
+        this.pool = pool;
+
+        mean = new WeightedHeuristic().getWeights();
+        deviation = new double[WeightedHeuristic.WEIGHT_COUNT];
+        Arrays.fill(deviation, INITIAL_DEVIATION);
+        bestWeights = mean.clone();
+        population = new double[populationSize][];
+        fitness = new double[populationSize];
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public double[] getMean() {
+        return mean.clone();
+    }
+
+    public double[] getDeviation() {
+        return deviation.clone();
+    }
+
+    public double[] getBestWeights() {
+        return bestWeights.clone();
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    public void step() {
+        SplitMix64 random = new SplitMix64(SplitMix64.stream(seed, 2L * generation));
+        long gameSeed = SplitMix64.stream(seed, 2L * generation + 1);
+
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = sample(random);
+        }
+
+        double[] lines = new double[populationSize * games];
+        pool.invoke(new EvaluationTask(gameSeed, lines, 0, lines.length));
+
+        Integer[] order = new Integer[populationSize];
+
+        for (int i = 0; i < populationSize; i++) {
+            double total = 0;
+
+            for (int g = 0; g < games; g++) {
+                total += lines[i * games + g];
+            }
+
+            fitness[i] = total / games;
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+
+        if (fitness[order[0]] > bestFitness) {
+            bestFitness = fitness[order[0]];
+            bestWeights = population[order[0]].clone();
+        }
+
+        double noise = INITIAL_NOISE * Math.max(0, 1 - (double) generation / NOISE_GENERATIONS);
+
+        for (int w = 0; w < WeightedHeuristic.WEIGHT_COUNT; w++) {
+            double sum = 0;
+
+            for (int e = 0; e < eliteSize; e++) {
+                sum += population[order[e]][w];
+            }
+
+            double average = sum / eliteSize;
+            double variance = 0;
+
+            for (int e = 0; e < eliteSize; e++) {
+                double delta = population[order[e]][w] - average;
+                variance += delta * delta;
+            }
+
+            mean[w] = average;
+            deviation[w] = Math.sqrt(variance / eliteSize + noise);
+        }
+
+        generation += 1;
+    }
+
+    private double[] sample(SplitMix64 random) {
+        double[] weights = new double[WeightedHeuristic.WEIGHT_COUNT];
+
+        for (int w = 0; w < weights.length; w += 2) {
+            double radius = Math.sqrt(-2 * Math.log(1 - random.nextDouble()));
+            double angle = 2 * Math.PI * random.nextDouble();
+
+            weights[w] = mean[w] + deviation[w] * radius * Math.cos(angle);
+
+            if (w + 1 < weights.length) {
+                weights[w + 1] = mean[w + 1] + deviation[w + 1] * radius * Math.sin(angle);
+            }
+        }
+
+        return weights;
+    }
+
+    private double play(int candidate, long gameSeed) {
+        Tetris tetris = new Tetris(new BitBoard(width, height), gameSeed);
+        Bot bot = new Bot(new WeightedHeuristic(population[candidate]), 1, pool, new TranspositionTable(TABLE_SIZE));
+
+        tetris.setDebug(false);
+        tetris.generateRandomPiece();
+
+        while (!tetris.isGameOver() && tetris.getPieceCount() < maxPieces) {
+            int pieceCount = tetris.getPieceCount();
+            bot.play(tetris);
+
+            if (tetris.getPieceCount() == pieceCount && !tetris.isGameOver()) {
+                tetris.hardDrop();
+
+                if (tetris.getPieceCount() == pieceCount) {
+                    break;
+                }
+            }
+        }
+
+        return tetris.getLineCount();
+    }
+
+    public void save(Path path) throws IOException {
+        int weights = WeightedHeuristic.WEIGHT_COUNT;
+        ByteBuffer buffer = ByteBuffer.allocate(64 + 8 * weights * (3 + populationSize) + 8 * populationSize);
+
+        buffer.putInt(MAGIC).putInt(VERSION)
+            .putInt(width).putInt(height)
+            .putInt(populationSize).putInt(eliteSize).putInt(games).putInt(maxPieces)
+            .putLong(seed).putInt(generation).putInt(weights)
+            .putDouble(bestFitness);
+
+        putAll(buffer, mean);
+        putAll(buffer, deviation);
+        putAll(buffer, bestWeights);
+
+        for (int i = 0; i < populationSize; i++) {
+            putAll(buffer, population[i] == null ? new double[weights] : population[i]);
+            buffer.putDouble(fitness[i]);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, Arrays.copyOf(buffer.array(), buffer.position()));
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static WeightTuner load(Path path, ForkJoinPool pool) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        if (buffer.remaining() < 56 || buffer.getInt() != MAGIC) {
+            throw new RuntimeException("Not a tuner checkpoint " + path);
+        }
+
+        int version = buffer.getInt();
+
+        if (version != VERSION) {
+            throw new RuntimeException("Unsupported tuner checkpoint version " + version);
+        }
+
+        WeightTuner tuner = new WeightTuner(
+            buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+            buffer.getInt(), buffer.getInt(), buffer.getLong(), pool
+        );
+        tuner.generation = buffer.getInt();
+
+        if (buffer.getInt() != WeightedHeuristic.WEIGHT_COUNT) {
+            throw new RuntimeException("Checkpoint was written for a different heuristic");
+        }
+
+        tuner.bestFitness = buffer.getDouble();
+        getAll(buffer, tuner.mean);
+        getAll(buffer, tuner.deviation);
+        getAll(buffer, tuner.bestWeights);
+
+        for (int i = 0; i < tuner.populationSize; i++) {
+            tuner.population[i] = new double[WeightedHeuristic.WEIGHT_COUNT];
+            getAll(buffer, tuner.population[i]);
+            tuner.fitness[i] = buffer.getDouble();
+        }
+
+        return tuner;
+    }
+
+    private static void putAll(ByteBuffer buffer, double[] values) {
+        for (double value : values) {
+            buffer.putDouble(value);
+        }
+    }
+
+    private static void getAll(ByteBuffer buffer, double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getDouble();
+        }
+    }
+
+    public String toString() {
+        return String.format(
+            "generation=%d best=%.1f mean=%s deviation=%s",
+            generation, bestFitness, Arrays.toString(mean), Arrays.toString(deviation)
+        );
+    }
+
+    private class EvaluationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private long gameSeed;
+        private double[] lines;
+        private int from;
+        private int to;
+
+        EvaluationTask(long gameSeed, double[] lines, int from, int to) {
+            this.gameSeed = gameSeed;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_GAMES) {
+                for (int i = from; i < to; i++) {
+                    lines[i] = play(i / games, SplitMix64.stream(gameSeed, i % games));
+                }
+
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluationTask(gameSeed, lines, from, mid), new EvaluationTask(gameSeed, lines, mid, to));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.tetris;
+
+
+public class WeightedHeuristic implements Heuristic {
+    public static final int AGGREGATE_HEIGHT = 0;
+    public static final int LINES = 1;
+    public static final int HOLES = 2;
+    public static final int BUMPINESS = 3;
+    public static final int WEIGHT_COUNT = 4;
+
+    private double[] weights;
+
+    public WeightedHeuristic() {
+        this(new double[] { -0.510066, 0.760666, -0.35663, -0.184483 });
+    }
+
+    public WeightedHeuristic(double[] weights) {
+        if (weights.length != WEIGHT_COUNT) {
+            throw new RuntimeException("Expected " + WEIGHT_COUNT + " weights");
+        }
+
+        this.weights = weights.clone();
+    }
+
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    public double evaluate(Board board, int linesCleared) {
+        Features features = board.getFeatures();
+
+        return weights[AGGREGATE_HEIGHT] * features.get(Feature.AGGREGATE_HEIGHT)
+            + weights[LINES] * linesCleared
+            + weights[HOLES] * features.get(Feature.HOLES)
+            + weights[BUMPINESS] * features.get(Feature.BUMPINESS);
+    }
+
+    public void evaluate(BatchEvaluator batch, int linesCleared, double[] out) {
+        int[] aggregateHeights = batch.getAggregateHeights();
+        int[] lines = batch.getLines();
+        int[] holes = batch.getHoles();
+        int[] bumpiness = batch.getBumpiness();
+
+        for (int i = 0; i < batch.getCount(); i++) {
+            out[i] = weights[AGGREGATE_HEIGHT] * aggregateHeights[i]
+                + weights[LINES] * (linesCleared + lines[i])
+                + weights[HOLES] * holes[i]
+                + weights[BUMPINESS] * bumpiness[i];
+        }
+    }
+}
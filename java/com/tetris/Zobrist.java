@@ -0,0 +1,41 @@
+package com.tetris;
+
+
+public class Zobrist {
+    private static final long SALT = 0x7A6F62726973744CL;
+
+    private Zobrist() {}
+
+    public static long key(int x, int y) {
+        return SplitMix64.stream(SALT, (long) y << 16 | x);
+    }
+
+    public static long row(long mask, int y) {
+        long hash = 0;
+
+        while (mask != 0) {
+            hash ^= key(Long.numberOfTrailingZeros(mask), y);
+            mask &= mask - 1;
+        }
+
+        return hash;
+    }
+
+    public static long of(Board board) {
+        long hash = 0;
+
+        for (int y = 0; y < board.getHeight(); y++) {
+            if (board.getWidths()[y] == 0) {
+                continue;
+            }
+
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (board.isFilled(x, y)) {
+                    hash ^= key(x, y);
+                }
+            }
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,186 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class BatchEvaluatorTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static int scanDropHeight(int index, int[] heights, int x) {
+        int y = 0;
+
+        for (int i = 0; i < PieceTable.width(index); i++) {
+            y = Math.max(y, heights[x + i] - PieceTable.skirt(index, i));
+        }
+
+        return y;
+    }
+
+    @Test
+    void dropTableMatchesSkirtScan() {
+        Random random = new Random(9);
+
+        for (int width : new int[] { 4, 10, 16, 20, 40 }) {
+            for (int trial = 0; trial < 2000; trial++) {
+                int[] heights = new int[width];
+                int spread = trial % 3 == 0 ? 30 : 6;
+
+                for (int x = 0; x < width; x++) {
+                    heights[x] = random.nextInt(spread);
+                }
+
+                long surface = DropTable.surface(heights, width);
+
+                for (int index = 0; index < PieceTable.SIZE; index++) {
+                    for (int x = 0; PieceTable.width(index) > 0 && x + PieceTable.width(index) <= width; x++) {
+                        int expected = scanDropHeight(index, heights, x);
+                        int offset = DropTable.lookup(index, surface, x);
+
+                        assertEquals(expected, DropTable.dropHeight(index, heights, surface, x));
+                        assertEquals(expected, DropTable.dropHeight(index, heights, x));
+
+                        if (offset != DropTable.MISS) {
+                            assertEquals(expected, heights[x] + offset);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void placementsMatchInsertAndClear() {
+        Random random = new Random(5);
+        WeightedHeuristic heuristic = new WeightedHeuristic();
+        int[] placements = new int[256];
+        double[] scores = new double[256];
+
+        for (int game = 0; game < 40; game++) {
+            BitBoard board = new BitBoard(WIDTH, HEIGHT);
+            MoveGenerator generator = new MoveGenerator(WIDTH, HEIGHT);
+            BatchEvaluator batch = new BatchEvaluator(WIDTH, placements.length);
+
+            for (int turn = 0; turn < 200; turn++) {
+                Piece piece = Piece.pieces[random.nextInt(Piece.pieces.length)];
+                generator.load(board);
+                int count = generator.generate(piece, 3, HEIGHT - 4, placements);
+
+                if (count == 0) {
+                    break;
+                }
+
+                batch.evaluatePlacements(board, piece.getShape(), placements, count);
+                heuristic.evaluate(batch, 2, scores);
+                int best = 0;
+
+                for (int i = 0; i < count; i++) {
+                    BitBoard copy = new BitBoard(WIDTH, HEIGHT);
+                    copy.copyFrom(board);
+                    int placement = placements[i];
+                    copy.insert(generator.getPiece(placement), Placement.x(placement), Placement.y(placement));
+                    copy.commit();
+                    int lines = copy.clearRows();
+
+                    assertEquals(lines, batch.getLines()[i]);
+                    assertArrayEquals(copy.getHeights(), Arrays.copyOfRange(batch.getHeights(), i * WIDTH, (i + 1) * WIDTH));
+                    assertEquals(copy.getFeatures().get(Feature.HOLES), batch.getHoles()[i]);
+                    assertEquals(copy.getFeatures().get(Feature.MAX_HEIGHT), batch.getMaxHeights()[i]);
+                    assertEquals(copy.getHash(), batch.getHashes()[i]);
+                    assertEquals(heuristic.evaluate(copy, 2 + lines), scores[i]);
+                    best = scores[i] > scores[best] ? i : best;
+                }
+
+                int placement = placements[random.nextInt(4) == 0 ? random.nextInt(count) : best];
+                board.insert(generator.getPiece(placement), Placement.x(placement), Placement.y(placement));
+                board.commit();
+                board.clearRows();
+            }
+        }
+    }
+
+    @Test
+    void dropsMatchInsertAndClear() {
+        Random random = new Random(3);
+        BatchEvaluator batch = new BatchEvaluator(WIDTH, 256);
+        int[] indices = new int[256];
+        int[] xs = new int[256];
+
+        for (int trial = 0; trial < 200; trial++) {
+            long[] rows = new long[HEIGHT];
+            int stack = random.nextInt(HEIGHT - 4);
+
+            for (int y = 0; y < stack; y++) {
+                rows[y] = random.nextLong() & ((1L << WIDTH) - 2);
+            }
+
+            BitBoard board = new BitBoard(WIDTH, HEIGHT);
+            board.load(rows);
+            int count = 0;
+
+            for (int index = 0; index < PieceTable.SIZE; index++) {
+                for (int x = 0; PieceTable.width(index) > 0 && x + PieceTable.width(index) <= WIDTH; x++) {
+                    indices[count] = index;
+                    xs[count] = x;
+                    count += 1;
+                }
+            }
+
+            assertEquals(count, batch.evaluateDrops(board, indices, xs, count));
+
+            for (int i = 0; i < count; i++) {
+                Piece piece = Piece.of(indices[i]);
+                BitBoard copy = new BitBoard(WIDTH, HEIGHT);
+                copy.copyFrom(board);
+                int y = copy.dropHeight(piece, xs[i]);
+                copy.insert(piece, xs[i], y);
+                copy.commit();
+
+                assertEquals(y, batch.getYs()[i]);
+                assertEquals(copy.clearRows(), batch.getLines()[i]);
+                assertEquals(copy.getFeatures().get(Feature.HOLES), batch.getHoles()[i]);
+            }
+        }
+    }
+
+    @Test
+    void dropsMatchBoardDropHeight() {
+        Random random = new Random(3);
+        BatchEvaluator batch = new BatchEvaluator(WIDTH, 256);
+
+        for (int trial = 0; trial < 200; trial++) {
+            long[] rows = new long[HEIGHT];
+            int stack = random.nextInt(HEIGHT - 4);
+
+            for (int y = 0; y < stack; y++) {
+                rows[y] = random.nextLong() & ((1L << WIDTH) - 2);
+            }
+
+            BitBoard board = new BitBoard(WIDTH, HEIGHT);
+            board.load(rows);
+
+            for (int shape = 0; shape < PieceTable.SHAPES; shape++) {
+                int count = batch.evaluateDrops(board, shape);
+
+                for (int i = 0; i < count; i++) {
+                    int placement = batch.getPlacements()[i];
+                    Piece piece = Piece.of(PieceTable.index(shape, Placement.rotation(placement)));
+
+                    assertEquals(board.dropHeight(piece, Placement.x(placement)), Placement.y(placement));
+                }
+            }
+        }
+    }
+}
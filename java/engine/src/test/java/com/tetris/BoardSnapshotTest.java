@@ -0,0 +1,63 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+
+class BoardSnapshotTest {
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "10, 20", "13, 30" })
+    void snapshotRoundTrips(int width, int height) {
+        Random random = new Random(width);
+
+        for (int game = 0; game < 20; game++) {
+            Board[] boards = { new BitBoard(width, height), new GridBoard(width, height) };
+
+            for (int turn = 0; turn < 60; turn++) {
+                Piece piece = Piece.pieces[random.nextInt(Piece.pieces.length)];
+                int x = random.nextInt(width - piece.getWidth() + 1);
+                boolean placed = true;
+
+                for (Board board : boards) {
+                    board.commit();
+
+                    if (board.insert(piece, x, board.dropHeight(piece, x)) == Message.PLACE_OK) {
+                        board.clearRows();
+                    } else {
+                        board.undo();
+                        placed = false;
+                    }
+                }
+
+                if (!placed) {
+                    break;
+                }
+            }
+
+            byte[] snapshot = BoardSnapshot.of(boards[0]);
+            BitBoard restored = BoardSnapshot.load(snapshot);
+
+            assertArrayEquals(snapshot, BoardSnapshot.of(boards[1]));
+            assertArrayEquals(snapshot, BoardSnapshot.of(restored));
+            assertArrayEquals(boards[0].getHeights(), restored.getHeights());
+            assertArrayEquals(boards[0].getWidths(), restored.getWidths());
+            assertEquals(boards[0].getHash(), restored.getHash());
+            assertEquals(boards[1].getHash(), restored.getHash());
+            assertEquals(Zobrist.of(boards[0]), restored.getHash());
+            assertThrows(RuntimeException.class, () -> BoardSnapshot.load(Arrays.copyOf(snapshot, snapshot.length + 1)));
+        }
+    }
+}
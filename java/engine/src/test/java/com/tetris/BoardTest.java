@@ -0,0 +1,230 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class BoardTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static Board[] boards() {
+        return boards(WIDTH, HEIGHT);
+    }
+
+    private static Board[] boards(int width, int height) {
+        return new Board[] {
+            new BitBoard(width, height),
+            new GridBoard(width, height),
+            new GridBoard(width, height, true)
+        };
+    }
+
+    private static Piece randomPiece(Random random) {
+        Piece piece = Piece.pieces[random.nextInt(Piece.pieces.length)];
+
+        for (int i = random.nextInt(4); i > 0; i--) {
+            piece = piece.getRotated(1);
+        }
+
+        return piece;
+    }
+
+    private static void assertConsistent(Board board) {
+        for (int y = 0; y < board.getHeight(); y++) {
+            int filled = 0;
+
+            for (int x = 0; x < board.getWidth(); x++) {
+                filled += board.isFilled(x, y) ? 1 : 0;
+            }
+
+            assertEquals(filled, board.getWidths()[y], "width of row " + y + "\n" + board);
+        }
+
+        for (int x = 0; x < board.getWidth(); x++) {
+            int top = 0;
+
+            for (int y = 0; y < board.getHeight(); y++) {
+                top = board.isFilled(x, y) ? y + 1 : top;
+            }
+
+            assertEquals(top, board.getHeights()[x], "height of column " + x + "\n" + board);
+        }
+
+        assertEquals(Zobrist.of(board), board.getHash(), "hash\n" + board);
+    }
+
+    private static void assertSame(Board expected, Board actual) {
+        assertEquals(expected.toString(), actual.toString());
+        assertArrayEquals(expected.getHeights(), actual.getHeights());
+        assertArrayEquals(expected.getWidths(), actual.getWidths());
+        assertEquals(expected.getHash(), actual.getHash());
+        assertArrayEquals(expected.getFeatures().toArray(new int[Feature.values().length]),
+            actual.getFeatures().toArray(new int[Feature.values().length]));
+    }
+
+    @Test
+    void implementationsAgree() {
+        Random random = new Random(1);
+
+        for (int game = 0; game < 100; game++) {
+            Board[] boards = boards();
+
+            for (int turn = 0; turn < 300; turn++) {
+                Piece piece = randomPiece(random);
+                int x = random.nextInt(WIDTH - piece.getWidth() + 1);
+                int y = random.nextInt(HEIGHT - piece.getHeight() + 1);
+                int op = random.nextInt(5);
+                int rows = 1 + random.nextInt(3);
+                int holeX = random.nextInt(WIDTH);
+                Message last = null;
+
+                for (Board board : boards) {
+                    board.commit();
+
+                    if (op == 0) {
+                        board.insert(piece, x, y);
+                        board.undo();
+                    } else if (op == 1) {
+                        last = board.insertGarbage(rows, holeX);
+                    } else {
+                        last = board.insert(piece, x, board.dropHeight(piece, x));
+
+                        if (last != Message.PLACE_OK) {
+                            board.undo();
+                        } else {
+                            board.clearRows();
+
+                            if (op == 2) {
+                                board.undo();
+                            }
+                        }
+                    }
+
+                    assertConsistent(board);
+                }
+
+                for (Board board : boards) {
+                    assertSame(boards[0], board);
+                }
+
+                if (last != null && last != Message.PLACE_OK) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    void undoRestoresClearedRows() {
+        Random random = new Random(2);
+
+        for (Board board : boards()) {
+            Board reference = new GridBoard(WIDTH, HEIGHT);
+
+            for (int turn = 0; turn < 500; turn++) {
+                Piece piece = randomPiece(random);
+                int x = random.nextInt(WIDTH - piece.getWidth() + 1);
+
+                board.commit();
+                reference.commit();
+
+                if (board.insert(piece, x, board.dropHeight(piece, x)) != Message.PLACE_OK) {
+                    break;
+                }
+
+                board.clearRows();
+                board.undo();
+                assertSame(reference, board);
+
+                board.insert(piece, x, board.dropHeight(piece, x));
+                reference.insert(piece, x, reference.dropHeight(piece, x));
+                assertEquals(reference.clearRows(), board.clearRows());
+            }
+        }
+    }
+
+    private static Piece rotated(String name, int height) {
+        Piece piece = Piece.get(name);
+
+        while (piece.getHeight() != height) {
+            piece = piece.getRotated(1);
+        }
+
+        return piece;
+    }
+
+    private static void place(Board board, Piece piece, int x, int y) {
+        board.commit();
+        assertEquals(Message.PLACE_OK, board.insert(piece, x, y));
+    }
+
+    @Test
+    void clearsOnlyFullRows() {
+        Piece flat = rotated("I", 1);
+        Piece vertical = rotated("I", 4);
+
+        for (Board board : boards(9, 40)) {
+            for (int y = 0; y < 3; y++) {
+                place(board, flat, 0, y);
+                place(board, flat, 5, y);
+            }
+
+            place(board, vertical, 4, 0);
+
+            assertEquals(3, board.clearRows());
+            assertEquals(1, board.getHeights()[4]);
+            assertEquals(0, board.getHeights()[0]);
+            assertEquals(1, board.getWidths()[0]);
+            assertConsistent(board);
+        }
+    }
+
+    @Test
+    void clearsTopRow() {
+        Piece flat = rotated("I", 1);
+        Piece vertical = rotated("I", 4);
+
+        for (Board board : boards(9, 4)) {
+            for (int y = 0; y < 4; y++) {
+                place(board, flat, 0, y);
+                place(board, flat, 5, y);
+            }
+
+            place(board, vertical, 4, 0);
+
+            assertEquals(4, board.clearRows());
+            assertArrayEquals(new int[9], board.getHeights());
+            assertArrayEquals(new int[4], board.getWidths());
+            assertConsistent(board);
+        }
+    }
+
+    @Test
+    void clearsGarbageThroughHole() {
+        Piece vertical = rotated("I", 4);
+
+        for (Board board : boards()) {
+            board.commit();
+            board.insertGarbage(3, 4);
+            board.commit();
+            board.insert(vertical, 4, 0);
+
+            assertEquals(3, board.clearRows());
+            assertEquals(1, board.getHeights()[4]);
+            assertEquals(0, board.getHeights()[0]);
+            assertEquals(1, board.getWidths()[0]);
+            assertConsistent(board);
+        }
+    }
+}
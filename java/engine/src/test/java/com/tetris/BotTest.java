@@ -0,0 +1,94 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+
+class BotTest {
+    private static Tetris play(Policy policy, long seed, int pieces) {
+        Tetris tetris = new Tetris(new BitBoard(10, 20), seed);
+        tetris.setDebug(false);
+        tetris.generateRandomPiece();
+
+        while (!tetris.isGameOver() && tetris.getPieceCount() < pieces) {
+            policy.play(tetris);
+        }
+
+        return tetris;
+    }
+
+    @Test
+    void tableReturnsOnlyStoredValues() {
+        TranspositionTable table = new TranspositionTable(4);
+
+        assertEquals(4, table.capacity());
+        assertTrue(Double.isNaN(table.get(12345L)));
+
+        table.put(12345L, 1.5);
+        assertEquals(1.5, table.get(12345L));
+        assertTrue(Double.isNaN(table.get(12345L + table.capacity())));
+
+        table.put(12345L + table.capacity(), -2.0);
+        assertEquals(-2.0, table.get(12345L + table.capacity()));
+        assertTrue(Double.isNaN(table.get(12345L)));
+
+        table.clear();
+        assertTrue(Double.isNaN(table.get(12345L + table.capacity())));
+    }
+
+    @Test
+    void clearsLinesWithoutToppingOut() {
+        Tetris tetris = play(new Bot(new WeightedHeuristic(), 1), 2, 300);
+
+        assertFalse(tetris.isGameOver());
+        assertTrue(10 * tetris.getLineCount() >= 3 * tetris.getPieceCount(), "lines " + tetris.getLineCount());
+    }
+
+    @Test
+    void batchedLeavesAreStoredInTable() {
+        WeightedHeuristic heuristic = new WeightedHeuristic();
+        TranspositionTable table = new TranspositionTable(1 << 16);
+        Bot bot = new Bot(heuristic, 1, ForkJoinPool.commonPool(), table);
+        Tetris tetris = play(bot, 3, 40);
+        MoveGenerator generator = new MoveGenerator(10, 20);
+        BitBoard board = new BitBoard(10, 20);
+
+        generator.load(tetris);
+        board.load(generator.getRows());
+        int count = generator.generate(tetris.getCurrentPiece(), tetris.getCurrentX(), tetris.getCurrentY());
+        int[] placements = generator.getPlacements();
+
+        bot.play(tetris);
+
+        for (int i = 0; i < count; i++) {
+            BitBoard copy = new BitBoard(10, 20);
+            copy.copyFrom(board);
+            copy.insert(generator.getPiece(placements[i]), Placement.x(placements[i]), Placement.y(placements[i]));
+            copy.commit();
+            int lines = copy.clearRows();
+
+            assertEquals(heuristic.evaluate(copy, lines), table.get(TranspositionTable.hash(copy, lines)));
+        }
+    }
+
+    @Test
+    void tableCollisionsDoNotChangeDecisions() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            Tetris large = play(new Bot(new WeightedHeuristic(), 2, pool, new TranspositionTable(1 << 16)), 5, 150);
+            Tetris small = play(new Bot(new WeightedHeuristic(), 2, pool, new TranspositionTable(2)), 5, 150);
+
+            assertEquals(large.getPieceCount(), small.getPieceCount());
+            assertEquals(large.getScore(), small.getScore());
+            assertEquals(large.getBoard().toString(), small.getBoard().toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+
+class FeaturesTest {
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static void assertFresh(Board board, String context) {
+        int[] expected = new Features(board).toArray(new int[Feature.values().length]);
+        int[] actual = board.getFeatures().toArray(new int[Feature.values().length]);
+
+        assertArrayEquals(expected, actual, context + "\n" + board);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "10, 20", "4, 12", "6, 8" })
+    void incrementalMatchesRecompute(int width, int height) {
+        Random random = new Random(width * 31 + height);
+
+        for (int kind = 0; kind < 3; kind++) {
+            for (int game = 0; game < 50; game++) {
+                Board board = kind == 0 ? new BitBoard(width, height) : new GridBoard(width, height, kind == 2);
+
+                for (int turn = 0; turn < 300; turn++) {
+                    Piece piece = Piece.pieces[random.nextInt(Piece.pieces.length)];
+
+                    for (int i = random.nextInt(4); i > 0; i--) {
+                        piece = piece.getRotated(1);
+                    }
+
+                    int x = random.nextInt(width - piece.getWidth() + 1);
+                    int op = random.nextInt(5);
+                    board.commit();
+
+                    if (op == 0) {
+                        board.insert(piece, x, random.nextInt(height - piece.getHeight() + 1));
+                        board.undo();
+                        assertFresh(board, "undo");
+                        continue;
+                    }
+
+                    if (op == 1) {
+                        board.insertGarbage(1 + random.nextInt(3), random.nextInt(width));
+                        assertFresh(board, "garbage");
+                        continue;
+                    }
+
+                    if (board.insert(piece, x, board.dropHeight(piece, x)) != Message.PLACE_OK) {
+                        board.undo();
+                        assertFresh(board, "failed insert");
+                        break;
+                    }
+
+                    assertFresh(board, "insert");
+                    board.clearRows();
+                    assertFresh(board, "clear");
+
+                    if (op == 2) {
+                        board.undo();
+                        assertFresh(board, "undo after clear");
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+
+class GameEventRingTest {
+    private static class Recorder implements GameEventListener {
+        List<Long> sequences = new ArrayList<>();
+        int torn = 0;
+        boolean lastEndOfBatch;
+
+        public synchronized void onEvent(GameEvent event, boolean endOfBatch) {
+            long sequence = event.getSequence();
+
+            if (event.getX() != (int) sequence || event.getY() != -(int) sequence || event.getScore() != 2 * (int) sequence) {
+                torn += 1;
+            }
+
+            sequences.add(sequence);
+            lastEndOfBatch = endOfBatch;
+        }
+    }
+
+    private static void publish(GameEventRing ring, int count) {
+        for (int i = 0; i < count; i++) {
+            long sequence = ring.getCursor() + 1;
+            ring.publish(EventType.MOVED, null, (int) sequence, -(int) sequence, 0, 2 * (int) sequence);
+
+            if (i % 50 == 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Test
+    void deliversEveryEventInOrder() throws InterruptedException {
+        GameEventRing ring = new GameEventRing(1 << 12);
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+
+        ring.subscribe(first);
+        ring.subscribe(second);
+        publish(ring, 1000);
+        ring.close();
+
+        for (Recorder recorder : new Recorder[] { first, second }) {
+            synchronized (recorder) {
+                assertEquals(1000, recorder.sequences.size());
+                assertEquals(0, recorder.torn);
+                assertTrue(recorder.lastEndOfBatch);
+
+                for (int i = 0; i < recorder.sequences.size(); i++) {
+                    assertEquals(i, (long) recorder.sequences.get(i));
+                }
+            }
+        }
+
+        assertEquals(0, ring.getDropped());
+        assertThrows(RuntimeException.class, () -> ring.subscribe(new Recorder()));
+    }
+
+    @Test
+    void slowSubscriberSkipsOverwrittenEvents() throws InterruptedException {
+        GameEventRing ring = new GameEventRing(8);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            public void onEvent(GameEvent event, boolean endOfBatch) {
+                super.onEvent(event, endOfBatch);
+
+                if (blocked.getCount() > 0) {
+                    blocked.countDown();
+
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+
+        assertEquals(8, ring.capacity());
+        ring.subscribe(recorder);
+        publish(ring, 1);
+        blocked.await();
+        publish(ring, 99);
+        release.countDown();
+        ring.close();
+
+        synchronized (recorder) {
+            assertEquals(0, recorder.torn);
+            assertEquals(99L, (long) recorder.sequences.get(recorder.sequences.size() - 1));
+            assertTrue(recorder.sequences.size() <= 1 + ring.capacity(), recorder.sequences.toString());
+            assertEquals(100, recorder.sequences.size() + ring.getDropped());
+
+            for (int i = 1; i < recorder.sequences.size(); i++) {
+                assertTrue(recorder.sequences.get(i) > recorder.sequences.get(i - 1));
+            }
+        }
+    }
+
+    @Test
+    void unsubscribedListenerStopsReceiving() throws InterruptedException {
+        GameEventRing ring = new GameEventRing(64);
+        Recorder recorder = new Recorder();
+
+        ring.subscribe(recorder);
+        publish(ring, 10);
+        ring.unsubscribe(recorder);
+        publish(ring, 10);
+        ring.close();
+
+        synchronized (recorder) {
+            assertEquals(10, recorder.sequences.size());
+        }
+    }
+
+    @Test
+    void listenerCanUnsubscribeItself() throws InterruptedException {
+        GameEventRing ring = new GameEventRing(64);
+        CountDownLatch done = new CountDownLatch(1);
+        GameEventListener listener = new GameEventListener() {
+            public void onEvent(GameEvent event, boolean endOfBatch) {
+                try {
+                    ring.unsubscribe(this);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                done.countDown();
+            }
+        };
+
+        ring.subscribe(listener);
+        publish(ring, 1);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        ring.close();
+    }
+
+    @Test
+    void metricsCountEventsByType() throws InterruptedException {
+        GameEventRing ring = new GameEventRing(64);
+        long locked = Metrics.snapshot().get("events.LOCKED");
+        long moved = Metrics.snapshot().get("events.MOVED");
+
+        ring.subscribe(Metrics.EVENT_COUNTER);
+
+        for (int i = 0; i < 10; i++) {
+            ring.publish(i % 2 == 0 ? EventType.LOCKED : EventType.MOVED, null, 0, 0, 0, 0);
+        }
+
+        ring.close();
+
+        assertEquals(locked + 5, (long) Metrics.snapshot().get("events.LOCKED"));
+        assertEquals(moved + 5, (long) Metrics.snapshot().get("events.MOVED"));
+    }
+}
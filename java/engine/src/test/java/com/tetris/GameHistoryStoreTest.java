@@ -0,0 +1,131 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+class GameHistoryStoreTest {
+    private static final int TOP = 10;
+
+    @TempDir
+    Path directory;
+
+    private static List<GameRecord> records(long seed, int count) {
+        SplitMix64 random = new SplitMix64(seed);
+        List<GameRecord> records = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            records.add(new GameRecord(random.nextLong(), i, random.nextInt(1000000), random.nextInt(100000),
+                random.nextInt(500), random.nextInt(2000)));
+        }
+
+        return records;
+    }
+
+    private static List<GameRecord> top(List<GameRecord> records) {
+        List<GameRecord> sorted = new ArrayList<>(records);
+        sorted.sort((a, b) -> a.ranksAbove(b) ? -1 : b.ranksAbove(a) ? 1 : 0);
+        return sorted.subList(0, Math.min(TOP, sorted.size()));
+    }
+
+    private static List<GameRecord> stored(GameHistoryStore store) {
+        List<GameRecord> records = new ArrayList<>();
+        store.forEach(records::add);
+        return records;
+    }
+
+    @Test
+    void recordRoundTrips() {
+        ByteBuffer buffer = ByteBuffer.allocate(GameRecord.SIZE * 2);
+
+        for (GameRecord record : records(1, 100)) {
+            record.write(buffer, GameRecord.SIZE);
+            assertEquals(record, GameRecord.read(buffer, GameRecord.SIZE));
+        }
+    }
+
+    @Test
+    void reopenRestoresRecordsAndLeaderboard() throws IOException {
+        Path path = directory.resolve("history.log");
+        List<GameRecord> records = records(2, 3000);
+
+        try (GameHistoryStore store = new GameHistoryStore(path, TOP, 5000)) {
+            for (GameRecord record : records) {
+                store.append(record);
+            }
+
+            assertEquals(top(records), store.top(TOP));
+        }
+
+        assertEquals(GameHistoryStore.HEADER_SIZE + records.size() * GameRecord.SIZE, Files.size(path));
+
+        try (GameHistoryStore store = new GameHistoryStore(path, TOP, 5000)) {
+            assertEquals(records.size(), store.size());
+            assertEquals(records, stored(store));
+            assertEquals(top(records), store.top(TOP));
+        }
+    }
+
+    @Test
+    void recoversFromTornRecord() throws IOException {
+        Path path = directory.resolve("history.log");
+        List<GameRecord> records = records(3, 100);
+
+        try (GameHistoryStore store = new GameHistoryStore(path, TOP, 5000)) {
+            for (GameRecord record : records) {
+                store.append(record);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), Files.size(path) - 3);
+        }
+
+        List<GameRecord> intact = records.subList(0, records.size() - 1);
+
+        try (GameHistoryStore store = new GameHistoryStore(path, TOP, 5000)) {
+            assertEquals(intact.size(), store.size());
+            assertEquals(intact, stored(store));
+            assertEquals(top(intact), store.top(TOP));
+
+            store.append(records.get(records.size() - 1));
+        }
+
+        try (GameHistoryStore store = new GameHistoryStore(path, TOP, 5000)) {
+            assertEquals(records, stored(store));
+        }
+    }
+
+    @Test
+    void compactionKeepsLeaderboardAndRecentGames() throws IOException {
+        Path path = directory.resolve("history.log");
+        List<GameRecord> records = records(4, 5000);
+        int retain = 100;
+
+        try (GameHistoryStore store = new GameHistoryStore(path, TOP, retain)) {
+            for (GameRecord record : records) {
+                store.append(record);
+            }
+
+            store.compact();
+            List<GameRecord> kept = stored(store);
+
+            assertTrue(kept.size() <= retain + TOP);
+            assertTrue(kept.containsAll(top(records)));
+            assertTrue(kept.containsAll(records.subList(records.size() - retain, records.size())));
+            assertEquals(top(records), store.top(TOP));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class GameLoopTest {
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static Tetris newGame(long seed) {
+        Tetris tetris = new Tetris(new BitBoard(10, 20), seed);
+        tetris.setDebug(false);
+        tetris.generateRandomPiece();
+        return tetris;
+    }
+
+    @Test
+    void loopEndsOnItsOwnAtGameOver() throws InterruptedException {
+        Tetris tetris = newGame(1);
+        GameLoop loop = new GameLoop(tetris, 2000, 1, 1);
+
+        loop.start();
+        loop.join();
+
+        assertTrue(tetris.isGameOver());
+        assertFalse(loop.isRunning());
+        assertTrue(loop.getStats().getFrames() > 0);
+        loop.stop();
+    }
+
+    @Test
+    void stopRightAfterStartEndsLoop() throws InterruptedException {
+        Tetris tetris = newGame(2);
+        GameLoop loop = new GameLoop(tetris, 60, 30, 30);
+
+        loop.start();
+        loop.stop();
+
+        assertFalse(loop.isRunning());
+        assertFalse(tetris.isGameOver());
+    }
+}
@@ -0,0 +1,92 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class GameServerTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static ByteBuffer readFrame(SocketChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(channel, length);
+        ByteBuffer frame = ByteBuffer.allocate(length.getInt(0));
+        readFully(channel, frame);
+        frame.flip();
+
+        return frame;
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+    }
+
+    @Test
+    void sessionsReceiveStateAfterEachInput() throws Exception {
+        GameServer server = new GameServer(WIDTH, HEIGHT);
+        int port = server.start(0, 2);
+
+        try (SocketChannel first = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+             SocketChannel second = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+            ByteBuffer frame = readFrame(first);
+            readFrame(second);
+
+            assertEquals(2, server.getSessionCount());
+            assertEquals(3 * 4 + 1 + 1 + 2 + 8 * HEIGHT, frame.remaining());
+
+            frame.getInt();
+            frame.getInt();
+            int pieces = frame.getInt();
+            assertEquals(0, frame.get());
+            assertEquals(WIDTH, frame.get());
+            assertEquals(HEIGHT, frame.getShort());
+            assertEquals(0L, frame.getLong());
+
+            first.write(ByteBuffer.wrap(new byte[] { (byte) Action.HARD_DROP.ordinal() }));
+            frame = readFrame(first);
+
+            frame.getInt();
+            frame.getInt();
+            assertEquals(pieces + 1, frame.getInt());
+            frame.position(frame.position() + 4);
+            assertNotEquals(0L, frame.getLong());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void stopClosesClientConnections() throws Exception {
+        GameServer server = new GameServer(WIDTH, HEIGHT);
+        int port = server.start(0, 2);
+
+        try (SocketChannel first = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+             SocketChannel second = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+            readFrame(first);
+            readFrame(second);
+            server.stop();
+
+            assertEquals(0, server.getSessionCount());
+            assertEquals(-1, first.read(ByteBuffer.allocate(1)));
+            assertEquals(-1, second.read(ByteBuffer.allocate(1)));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+class GarbageQueueTest {
+    @Test
+    void roundsCapacityToPowerOfTwo() {
+        assertEquals(2, new GarbageQueue(1).capacity());
+        assertEquals(8, new GarbageQueue(5).capacity());
+        assertEquals(8, new GarbageQueue(8).capacity());
+    }
+
+    @Test
+    void rejectsOfferWhenFull() {
+        GarbageQueue queue = new GarbageQueue(4);
+
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(5));
+        assertEquals(1, queue.peek());
+        assertEquals(1, queue.poll());
+        assertTrue(queue.offer(5));
+
+        for (int i = 2; i <= 5; i++) {
+            assertEquals(i, queue.poll());
+        }
+
+        assertEquals(0, queue.poll());
+        assertEquals(0, queue.peek());
+    }
+
+    @Test
+    void deliversInOrderAcrossThreads() throws InterruptedException {
+        GarbageQueue queue = new GarbageQueue(16);
+        int total = 100000;
+        int[] received = new int[1];
+        boolean[] ordered = { true };
+
+        Thread consumer = new Thread(() -> {
+            int expected = 1;
+
+            while (expected <= total) {
+                int rows = queue.poll();
+
+                if (rows == 0) {
+                    Thread.yield();
+                    continue;
+                }
+
+                ordered[0] &= rows == expected;
+                expected += 1;
+            }
+
+            received[0] = expected - 1;
+        });
+
+        consumer.start();
+
+        for (int i = 1; i <= total; i++) {
+            while (!queue.offer(i)) {
+                Thread.yield();
+            }
+        }
+
+        consumer.join();
+        assertEquals(total, received[0]);
+        assertTrue(ordered[0]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class MoveGeneratorTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static Set<Integer> generate(MoveGenerator generator, Piece piece) {
+        int[] placements = new int[256];
+        int count = generator.generate(piece, 3, HEIGHT - 4, placements);
+        Set<Integer> distinct = new HashSet<>();
+
+        for (int i = 0; i < count; i++) {
+            distinct.add(placements[i]);
+        }
+
+        assertEquals(count, distinct.size());
+        return distinct;
+    }
+
+    @Test
+    void emptyBoardHasEveryColumnForEveryRotation() {
+        MoveGenerator generator = new MoveGenerator(WIDTH, HEIGHT);
+        generator.load(new long[HEIGHT], HEIGHT);
+
+        for (Piece piece : Piece.pieces) {
+            int expected = 0;
+            Piece rotated = piece;
+
+            do {
+                expected += WIDTH - rotated.getWidth() + 1;
+                rotated = rotated.getRotated(1);
+            } while (rotated != piece);
+
+            Set<Integer> placements = generate(generator, piece);
+            assertEquals(expected, placements.size(), piece.getName());
+
+            for (int placement : placements) {
+                assertEquals(0, Placement.y(placement));
+            }
+        }
+    }
+
+    @Test
+    void findsPlacementsTuckedUnderAnOverhang() {
+        long[] rows = new long[HEIGHT];
+        rows[2] = ((1L << WIDTH) - 1) & ~3L;
+        MoveGenerator generator = new MoveGenerator(WIDTH, HEIGHT);
+        generator.load(rows, HEIGHT);
+
+        Set<Integer> placements = generate(generator, Piece.get("O"));
+
+        assertEquals(17, placements.size());
+
+        for (int x = 0; x < WIDTH - 1; x++) {
+            assertTrue(placements.contains(Placement.encode(0, x, 0)), "under the shelf at " + x);
+        }
+
+        for (int x = 1; x < WIDTH - 1; x++) {
+            assertTrue(placements.contains(Placement.encode(0, x, 3)), "on the shelf at " + x);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class PerfectClearSolverTest {
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 8;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUp() {
+        Piece.generatePieces();
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    private static PerfectClearSolver solver(int width, int height) {
+        return new PerfectClearSolver(width, height, pool, new PositionCache(1 << 12));
+    }
+
+    private static BitBoard board(int width, int height, long[] rows) {
+        BitBoard board = new BitBoard(width, height);
+        board.load(rows);
+        return board;
+    }
+
+    private static boolean bruteForce(BitBoard board, Piece[] sequence, int level, int limit) {
+        if (level > 0 && board.getFeatures().get(Feature.MAX_HEIGHT) == 0) {
+            return true;
+        }
+
+        if (level == limit) {
+            return false;
+        }
+
+        int width = board.getWidth();
+        int height = board.getHeight();
+        Piece piece = sequence[level];
+        MoveGenerator generator = new MoveGenerator(width, height);
+        int[] placements = new int[256];
+
+        generator.load(board);
+        int count = generator.generate(piece, (width - piece.getWidth()) / 2, height - piece.getHeight(), placements);
+
+        for (int i = 0; i < count; i++) {
+            int placement = placements[i];
+            BitBoard next = new BitBoard(width, height);
+            next.copyFrom(board);
+            next.insert(generator.getPiece(placement), Placement.x(placement), Placement.y(placement));
+            next.commit();
+            next.clearRows();
+
+            if (bruteForce(next, sequence, level + 1, limit)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void assertClears(BitBoard board, SolverResult result) {
+        BitBoard replay = new BitBoard(board.getWidth(), board.getHeight());
+        replay.copyFrom(board);
+
+        for (int i = 0; i < result.size(); i++) {
+            replay.commit();
+            assertEquals(Message.PLACE_OK, replay.insert(result.getPiece(i), result.getX(i), result.getY(i)));
+            replay.clearRows();
+        }
+
+        assertArrayEquals(new int[board.getWidth()], replay.getHeights(), result.toString());
+    }
+
+    private static Piece[] sequence(String... names) {
+        Piece[] pieces = new Piece[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            pieces[i] = Piece.get(names[i]);
+        }
+
+        return pieces;
+    }
+
+    @Test
+    void findsSimplePerfectClears() {
+        long[] rows = new long[20];
+        rows[0] = 0x3FCL;
+        rows[1] = 0x3FCL;
+        BitBoard board = board(10, 20, rows);
+
+        SolverResult result = solver(10, 20).findPerfectClear(board, sequence("O"), 1);
+        assertTrue(result.isPerfectClear(), result.toString());
+        assertEquals(2, result.getLines());
+        assertClears(board, result);
+
+        result = solver(10, 20).findPerfectClear(board, sequence("I", "O"), 2);
+        assertFalse(result.isPerfectClear(), result.toString());
+    }
+
+    @Test
+    void parityRulesOutDepthsWithoutSearching() {
+        BitBoard board = new BitBoard(10, 20);
+        SolverResult result = solver(10, 20).findPerfectClear(board, sequence("T", "S", "Z", "O"), 4);
+
+        assertFalse(result.isPerfectClear());
+        assertEquals(0, result.getNodes());
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    void pruningNeverLosesAPerfectClear() {
+        Random random = new Random(11);
+        int found = 0;
+
+        for (int trial = 0; trial < 300; trial++) {
+            long[] rows = new long[HEIGHT];
+            int stack = random.nextInt(3);
+
+            for (int y = 0; y < stack; y++) {
+                do {
+                    rows[y] = random.nextInt(1 << WIDTH);
+                } while (rows[y] == (1 << WIDTH) - 1);
+            }
+
+            Piece[] pieces = new Piece[4];
+
+            for (int i = 0; i < pieces.length; i++) {
+                pieces[i] = Piece.pieces[random.nextInt(Piece.pieces.length)];
+            }
+
+            BitBoard board = board(WIDTH, HEIGHT, rows);
+            SolverResult result = solver(WIDTH, HEIGHT).findPerfectClear(board, pieces, pieces.length);
+
+            assertEquals(bruteForce(board, pieces, 0, pieces.length), result.isPerfectClear(), board + "\n" + result);
+
+            if (result.isPerfectClear()) {
+                assertClears(board, result);
+                found += 1;
+            }
+        }
+
+        assertTrue(found > 0);
+    }
+
+    @Test
+    void solveFallsBackToMostLines() {
+        long[] rows = new long[20];
+        rows[0] = 0x3F0L;
+        rows[1] = 0x1F0L;
+        BitBoard board = board(10, 20, rows);
+        Piece[] pieces = sequence("I", "I");
+
+        SolverResult result = solver(10, 20).solve(board, pieces, 2);
+
+        assertFalse(result.isPerfectClear());
+        assertEquals(1, result.getLines(), result.toString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+
+class PositionCacheTest {
+    private static final int CAPACITY = 64;
+    private static final int SETS = CAPACITY / 4;
+
+    private static int valueOf(long key) {
+        return (int) (SplitMix64.mix(key) & 0xFFFF);
+    }
+
+    @Test
+    void returnsStoredValues() {
+        PositionCache cache = new PositionCache(CAPACITY);
+
+        assertEquals(CAPACITY, cache.capacity());
+        assertEquals(-1, cache.get(7));
+
+        cache.put(7, 3);
+        cache.put(8, 0);
+        cache.put(7, 65535);
+
+        assertEquals(65535, cache.get(7));
+        assertEquals(0, cache.get(8));
+        assertEquals(-1, cache.get(7 + SETS));
+        assertThrows(RuntimeException.class, () -> cache.put(9, 65536));
+        assertThrows(RuntimeException.class, () -> cache.put(9, -1));
+
+        cache.clear();
+        assertEquals(-1, cache.get(7));
+        assertEquals(-1, cache.get(8));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWay() {
+        PositionCache cache = new PositionCache(CAPACITY);
+        long[] keys = new long[6];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 5 + (long) i * SETS;
+        }
+
+        for (int i = 0; i < 4; i++) {
+            cache.put(keys[i], i);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, cache.get(keys[i]));
+        }
+
+        assertEquals(0, cache.get(keys[0]));
+        cache.put(keys[4], 4);
+
+        assertEquals(-1, cache.get(keys[1]));
+        assertEquals(0, cache.get(keys[0]));
+        assertEquals(2, cache.get(keys[2]));
+        assertEquals(3, cache.get(keys[3]));
+        assertEquals(4, cache.get(keys[4]));
+
+        cache.put(keys[0], 10);
+        cache.put(keys[5], 5);
+
+        assertEquals(-1, cache.get(keys[2]));
+        assertEquals(10, cache.get(keys[0]));
+        assertEquals(3, cache.get(keys[3]));
+        assertEquals(4, cache.get(keys[4]));
+        assertEquals(5, cache.get(keys[5]));
+    }
+
+    @Test
+    void concurrentHitsAreNeverTorn() throws InterruptedException {
+        PositionCache cache = new PositionCache(CAPACITY);
+        AtomicInteger wrong = new AtomicInteger();
+        AtomicInteger hits = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                SplitMix64 random = new SplitMix64(seed);
+
+                for (int i = 0; i < 200000; i++) {
+                    long key = random.nextInt(4 * CAPACITY) + 1;
+
+                    if (random.nextInt(2) == 0) {
+                        cache.put(key, valueOf(key));
+                    } else {
+                        int value = cache.get(key);
+
+                        if (value >= 0) {
+                            hits.incrementAndGet();
+
+                            if (value != valueOf(key)) {
+                                wrong.incrementAndGet();
+                            }
+                        }
+                    }
+
+                    if (i % 1000 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(hits.get() > 0);
+        assertEquals(0, wrong.get());
+    }
+}
@@ -0,0 +1,107 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class RandomizerTest {
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static int repeats(Randomizer randomizer, int draws) {
+        int previous = randomizer.next();
+        int repeats = 0;
+
+        for (int i = 1; i < draws; i++) {
+            int shape = randomizer.next();
+
+            assertTrue(shape >= 0 && shape < PieceTable.SHAPES);
+
+            if (shape == previous) {
+                repeats += 1;
+            }
+
+            previous = shape;
+        }
+
+        return repeats;
+    }
+
+    private static Randomizer[] randomizers(long seed) {
+        return new Randomizer[] {
+            new UniformRandomizer(new SplitMix64(seed)),
+            new BagRandomizer(new SplitMix64(seed)),
+            new HistoryRandomizer(new SplitMix64(seed))
+        };
+    }
+
+    @Test
+    void sameSeedGivesSameSequence() {
+        Randomizer[] first = randomizers(5);
+        Randomizer[] second = randomizers(5);
+
+        for (int i = 0; i < first.length; i++) {
+            for (int draw = 0; draw < 1000; draw++) {
+                assertEquals(first[i].next(), second[i].next());
+            }
+        }
+
+        assertTrue(SplitMix64.stream(5, 0) != SplitMix64.stream(5, 1));
+    }
+
+    @Test
+    void bagDealsEveryShapeOncePerBag() {
+        Randomizer randomizer = new BagRandomizer(new SplitMix64(11));
+
+        for (int bag = 0; bag < 200; bag++) {
+            int seen = 0;
+
+            for (int i = 0; i < PieceTable.SHAPES; i++) {
+                seen |= 1 << randomizer.next();
+            }
+
+            assertEquals((1 << PieceTable.SHAPES) - 1, seen);
+        }
+    }
+
+    @Test
+    void historyRerollsRecentShapes() {
+        int draws = 7000;
+        int uniform = repeats(new UniformRandomizer(new SplitMix64(3)), draws);
+        int history = repeats(new HistoryRandomizer(new SplitMix64(3)), draws);
+
+        assertTrue(uniform > draws / 10, "uniform repeats " + uniform);
+        assertTrue(history < uniform / 4, "history repeats " + history + " uniform " + uniform);
+    }
+
+    @Test
+    void queuePreviewsUpcomingPieces() {
+        int previewSize = 5;
+        PieceQueue queue = new PieceQueue(new BagRandomizer(new SplitMix64(9)), previewSize);
+        Randomizer expected = new BagRandomizer(new SplitMix64(9));
+        int[] upcoming = new int[previewSize];
+
+        for (int i = 0; i < previewSize; i++) {
+            upcoming[i] = expected.next();
+        }
+
+        assertEquals(previewSize, queue.size());
+
+        for (int turn = 0; turn < 100; turn++) {
+            for (int i = 0; i < previewSize; i++) {
+                assertEquals(PieceTable.index(upcoming[(turn + i) % previewSize], 0), queue.peek(i).getIndex());
+            }
+
+            assertEquals(PieceTable.index(upcoming[turn % previewSize], 0), queue.poll().getIndex());
+            upcoming[turn % previewSize] = expected.next();
+        }
+
+        assertThrows(RuntimeException.class, () -> queue.peek(previewSize));
+    }
+}
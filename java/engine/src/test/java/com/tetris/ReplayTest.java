@@ -0,0 +1,94 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+class ReplayTest {
+    private static Tetris playGame(long seed) {
+        Tetris tetris = new Tetris(new BitBoard(10, 20), seed);
+        tetris.setDebug(false);
+        tetris.record();
+        tetris.generateRandomPiece();
+        Policy policy = seed % 2 == 0 ? new RandomPolicy(seed) : new Bot(new WeightedHeuristic(), 1);
+
+        while (!tetris.isGameOver() && tetris.getPieceCount() < 200) {
+            policy.play(tetris);
+
+            if (seed % 3 == 0) {
+                tetris.tick();
+                tetris.move(-2, 0);
+            }
+        }
+
+        return tetris;
+    }
+
+    private static void assertReplays(Tetris expected, Replay replay) {
+        Tetris actual = replay.play();
+
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getPieceCount(), actual.getPieceCount());
+        assertEquals(expected.getBoard().toString(), actual.getBoard().toString());
+    }
+
+    @Test
+    void replayReproducesGame() throws IOException {
+        for (long seed = 0; seed < 12; seed++) {
+            Tetris tetris = playGame(seed);
+            Replay replay = tetris.recorder.toReplay();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            assertReplays(tetris, replay);
+            replay.write(Channels.newChannel(out));
+            assertEquals(replay.byteSize(), out.size());
+
+            Replay read = Replay.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+            assertEquals(replay.getSeed(), read.getSeed());
+            assertEquals(replay.size(), read.size());
+            assertReplays(tetris, read);
+            assertReplays(tetris, Replay.read(ByteBuffer.wrap(out.toByteArray())));
+        }
+    }
+
+    @Test
+    void archiveReadsEveryReplay(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("replays.bin");
+        List<Tetris> games = new ArrayList<>();
+
+        for (long seed = 0; seed < 8; seed++) {
+            Tetris tetris = playGame(seed);
+            games.add(tetris);
+            ReplayArchive.append(path, tetris.recorder.toReplay());
+        }
+
+        List<Replay> replays = new ArrayList<>();
+        assertEquals(games.size(), ReplayArchive.forEach(path, replays::add));
+
+        for (int i = 0; i < games.size(); i++) {
+            assertReplays(games.get(i), replays.get(i));
+        }
+    }
+
+    @Test
+    void rejectsTruncatedReplay() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        playGame(1).recorder.toReplay().write(Channels.newChannel(out));
+        byte[] bytes = out.toByteArray();
+        ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1).slice();
+
+        assertThrows(RuntimeException.class, () -> Replay.read(truncated));
+    }
+}
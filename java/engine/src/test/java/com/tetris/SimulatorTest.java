@@ -0,0 +1,60 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+
+class SimulatorTest {
+    private static final int GAMES = 13;
+
+    private static Simulator simulator(ForkJoinPool pool) {
+        return new Simulator(() -> new BitBoard(10, 20), RandomPolicy::new, 500, pool);
+    }
+
+    private static void assertSameTotals(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getPieces(), actual.getPieces());
+        assertEquals(expected.getLines(), actual.getLines());
+        assertEquals(expected.getScore(), actual.getScore());
+    }
+
+    @Test
+    void sameSeedGivesSameResult() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            assertSameTotals(simulator(pool).run(GAMES, 42), simulator(pool).run(GAMES, 42));
+            assertSameTotals(simulator(pool).play(7), simulator(pool).play(7));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void totalsAddUpAcrossGames() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            Simulator simulator = simulator(pool);
+            SimulationResult sum = new SimulationResult(0, 0, 0, 0, 0);
+
+            for (int i = 0; i < GAMES; i++) {
+                SimulationResult game = simulator.play(SplitMix64.stream(42, i));
+
+                assertEquals(1, game.getGames());
+                assertTrue(game.getPieces() > 0);
+                sum = sum.combine(game);
+            }
+
+            SimulationResult batch = simulator.run(GAMES, 42);
+            assertSameTotals(sum, batch);
+            assertTrue(batch.getElapsedNanos() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class SnapshotPublisherTest {
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static Tetris newGame(long seed) {
+        Tetris tetris = new Tetris(new BitBoard(10, 20), seed);
+        tetris.setDebug(false);
+        tetris.generateRandomPiece();
+        return tetris;
+    }
+
+    @Test
+    void snapshotsAreDetachedCopies() {
+        Tetris tetris = newGame(4);
+        RandomPolicy policy = new RandomPolicy(4);
+        SnapshotPublisher publisher = new SnapshotPublisher();
+
+        assertNull(publisher.poll());
+
+        for (int i = 0; i < 20; i++) {
+            policy.play(tetris);
+        }
+
+        publisher.publish(tetris);
+        GameSnapshot snapshot = publisher.poll();
+        String board = tetris.getBoard().toString();
+
+        assertEquals(1, snapshot.getSequence());
+        assertEquals(board, snapshot.toString());
+        assertEquals(tetris.getBoard().getHash(), snapshot.getHash());
+        assertEquals(tetris.getPieceCount(), snapshot.getPieceCount());
+        assertEquals(tetris.getScore(), snapshot.getScore());
+
+        for (int i = 0; i < 20 && !tetris.isGameOver(); i++) {
+            policy.play(tetris);
+        }
+
+        assertNotEquals(board, tetris.getBoard().toString());
+        assertEquals(board, snapshot.toString());
+        assertSame(snapshot, publisher.poll());
+
+        publisher.publish(tetris);
+        assertEquals(2, publisher.poll().getSequence());
+        assertEquals(tetris.getBoard().toString(), publisher.poll().toString());
+    }
+
+    @Test
+    void subscribersSeeSnapshotsInOrder() throws InterruptedException {
+        Tetris tetris = newGame(6);
+        RandomPolicy policy = new RandomPolicy(6);
+        SnapshotPublisher publisher = new SnapshotPublisher();
+        List<Long> sequences = new ArrayList<>();
+        int published = 500;
+
+        publisher.subscribe(snapshot -> {
+            synchronized (sequences) {
+                sequences.add(snapshot.getSequence());
+            }
+        });
+
+        for (int i = 0; i < published; i++) {
+            if (!tetris.isGameOver()) {
+                policy.play(tetris);
+            }
+
+            publisher.publish(tetris);
+
+            if (i % 50 == 0) {
+                Thread.yield();
+            }
+        }
+
+        publisher.close();
+
+        synchronized (sequences) {
+            assertTrue(sequences.size() > 0);
+            assertEquals(published, (long) sequences.get(sequences.size() - 1));
+
+            for (int i = 1; i < sequences.size(); i++) {
+                assertTrue(sequences.get(i) > sequences.get(i - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+
+class TerminalRendererTest {
+    private static final String CLEAR_BELOW = "\u001b[4;1H\u001b[J";
+
+    private static String render(TerminalRenderer renderer, ByteArrayOutputStream out, Board board) {
+        out.reset();
+        renderer.render(board);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void statusIsDrawnBelowBoardAndReplaced() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TerminalRenderer renderer = new TerminalRenderer(out);
+        Board board = new BitBoard(4, 3);
+
+        renderer.status("Failed");
+        assertTrue(render(renderer, out, board).endsWith(CLEAR_BELOW + "Failed\n"));
+
+        renderer.status("Line one\nLine two");
+        assertEquals(CLEAR_BELOW + "Line one\nLine two\n", render(renderer, out, board));
+
+        renderer.status("");
+        String frame = render(renderer, out, board);
+
+        assertEquals(CLEAR_BELOW, frame);
+        assertFalse(frame.contains("\u001b[2J"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+class TetrisEnvTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    @BeforeAll
+    static void generatePieces() {
+        Piece.generatePieces();
+    }
+
+    private static void assertObservation(TetrisEnv env, ByteBuffer observation, int offset) {
+        Tetris tetris = env.getTetris();
+        Board board = tetris.getBoard();
+        int active = 0;
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                byte cell = observation.get(offset + y * WIDTH + x);
+
+                assertEquals(board.isFilled(x, y), cell != TetrisEnv.EMPTY, "cell " + x + ", " + y);
+                active += cell == TetrisEnv.ACTIVE ? 1 : 0;
+            }
+        }
+
+        assertEquals(tetris.isGameOver() ? 0 : 4, active);
+        int position = offset + WIDTH * HEIGHT;
+
+        for (int x = 0; x < WIDTH; x++) {
+            int top = 0;
+
+            for (int y = 0; y < HEIGHT; y++) {
+                top = observation.get(offset + y * WIDTH + x) == TetrisEnv.LOCKED ? y + 1 : top;
+            }
+
+            assertEquals(top, observation.getShort(position + 2 * x));
+        }
+
+        position += 2 * WIDTH;
+        assertEquals(tetris.getCurrentPiece().getShape(), observation.get(position));
+        assertEquals(tetris.getCurrentPiece().getRotation(), observation.get(position + 1));
+        assertEquals(tetris.getCurrentX(), observation.getShort(position + 2));
+        assertEquals(tetris.getCurrentY(), observation.getShort(position + 4));
+
+        for (int i = 0; i < tetris.getPreviewSize(); i++) {
+            assertEquals(tetris.getPreview(i).getShape(), observation.get(position + 6 + i));
+        }
+    }
+
+    @Test
+    void observationMatchesGame() {
+        TetrisEnv env = new TetrisEnv(WIDTH, HEIGHT);
+        ByteBuffer observation = ByteBuffer.allocate(env.getObservationSize() + 8);
+        Random random = new Random(1);
+
+        env.reset(17, observation, 8);
+        assertObservation(env, observation, 8);
+
+        while (!env.isDone()) {
+            int lines = env.getTetris().getLineCount();
+            int action = random.nextInt(TetrisEnv.getActionCount());
+            float reward = env.step(action, observation, 8);
+
+            assertEquals(env.getTetris().getLineCount() - lines, reward);
+            assertObservation(env, observation, 8);
+        }
+    }
+
+    @Test
+    void vectorEnvResetsFinishedEpisodes() {
+        VectorEnv first = new VectorEnv(4, WIDTH, HEIGHT);
+        VectorEnv second = new VectorEnv(4, WIDTH, HEIGHT);
+        int size = first.getObservationSize();
+        ByteBuffer a = ByteBuffer.allocate(4 * size);
+        ByteBuffer b = ByteBuffer.allocate(4 * size);
+        int[] actions = new int[4];
+        float[] rewards = new float[4];
+        boolean[] dones = new boolean[4];
+        Random random = new Random(3);
+        int finished = 0;
+
+        first.reset(9, a);
+        second.reset(9, b);
+
+        for (int step = 0; step < 2000; step++) {
+            for (int i = 0; i < actions.length; i++) {
+                actions[i] = random.nextInt(3) == 0 ? Action.HARD_DROP.ordinal() : random.nextInt(TetrisEnv.getActionCount());
+            }
+
+            first.step(actions, a, rewards, dones);
+            second.step(actions, b, new float[4], new boolean[4]);
+            assertEquals(a, b);
+
+            for (int i = 0; i < actions.length; i++) {
+                finished += dones[i] ? 1 : 0;
+                assertFalse(first.get(i).isDone());
+                assertObservation(first.get(i), a, i * size);
+            }
+        }
+
+        assertTrue(finished > 0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tetris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+class WeightTunerTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUp() {
+        Piece.generatePieces();
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    private static void assertSameState(WeightTuner expected, WeightTuner actual) {
+        assertEquals(expected.getGeneration(), actual.getGeneration());
+        assertEquals(expected.getBestFitness(), actual.getBestFitness());
+        assertArrayEquals(expected.getMean(), actual.getMean());
+        assertArrayEquals(expected.getDeviation(), actual.getDeviation());
+        assertArrayEquals(expected.getBestWeights(), actual.getBestWeights());
+    }
+
+    @Test
+    void resumedTunerMatchesUninterruptedRun(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("tuner.bin");
+        WeightTuner tuner = new WeightTuner(8, 12, 4, 2, 2, 40, 3, pool);
+
+        tuner.step();
+        tuner.save(path);
+        WeightTuner resumed = WeightTuner.load(path, pool);
+
+        assertFalse(Files.exists(directory.resolve("tuner.bin.tmp")));
+        assertSameState(tuner, resumed);
+
+        tuner.step();
+        resumed.step();
+        assertSameState(tuner, resumed);
+        assertEquals(2, resumed.getGeneration());
+    }
+
+    @Test
+    void rejectsForeignCheckpoints(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("tuner.bin");
+        new WeightTuner(8, 12, 4, 2, 1, 10, 3, pool).save(path);
+        byte[] bytes = Files.readAllBytes(path);
+
+        ByteBuffer.wrap(bytes).putInt(4, WeightTuner.VERSION + 1);
+        Files.write(path, bytes);
+        assertThrows(RuntimeException.class, () -> WeightTuner.load(path, pool));
+
+        ByteBuffer.wrap(bytes).putInt(0, 0);
+        Files.write(path, bytes);
+        assertThrows(RuntimeException.class, () -> WeightTuner.load(path, pool));
+    }
+}